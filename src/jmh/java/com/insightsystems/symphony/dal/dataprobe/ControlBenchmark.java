@@ -0,0 +1,78 @@
+/*
+ *  Copyright (c) 2024 AVI-SPL, Inc. All Rights Reserved.
+ */
+
+package com.insightsystems.symphony.dal.dataprobe;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.avispl.symphony.api.dal.dto.control.ControllableProperty;
+import com.insightsystems.symphony.dal.dataprobe.common.DataprobeConstant;
+import com.insightsystems.symphony.dal.dataprobe.common.metric.Outlet;
+
+/**
+ * Controls of an outlet through {@link DataprobeiBootPDUCommunicator#controlProperty(ControllableProperty)}, answered by
+ * {@link RecordedDataprobeCommunicator}. A control is measured from the call until the control worker sent it to the device,
+ * so the hand-off to the worker is included; the states retrieved after the control are patched concurrently with the next call.
+ *
+ * @author Harry / Symphony Dev Team<br>
+ * Created on 10/18/2026
+ * @since 1.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ControlBenchmark {
+	@Param({ "8", "24", "48" })
+	private int outlets;
+
+	private RecordedDataprobeCommunicator communicator;
+	private ControllableProperty outletControl;
+	private boolean on;
+
+	@Setup
+	public void setUp() throws Exception {
+		communicator = new RecordedDataprobeCommunicator(outlets);
+		communicator.setControlBatchWindow(0);
+		communicator.init();
+		communicator.getMultipleStatistics();
+		outletControl = new ControllableProperty();
+		outletControl.setProperty(DataprobeConstant.OUTLET + outlets + DataprobeConstant.HASH + Outlet.OUTLET_CONTROL.getPropertyName());
+	}
+
+	@TearDown
+	public void tearDown() {
+		communicator.destroy();
+	}
+
+	/**
+	 * Switches the last outlet on or off, alternately
+	 */
+	@Benchmark
+	public long controlProperty() throws Exception {
+		long sent = communicator.getControls();
+		on = !on;
+		outletControl.setValue(on ? "1" : "0");
+		communicator.controlProperty(outletControl);
+		while (communicator.getControls() == sent) {
+			Thread.yield();
+		}
+		return sent;
+	}
+}
@@ -0,0 +1,68 @@
+/*
+ *  Copyright (c) 2024 AVI-SPL, Inc. All Rights Reserved.
+ */
+
+package com.insightsystems.symphony.dal.dataprobe;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.insightsystems.symphony.dal.dataprobe.common.DataprobeCommand;
+
+/**
+ * {@link DataprobeiBootPDUCommunicator} answering its requests from {@link RecordedResponses} instead of the network,
+ * so that the benchmarks measure the adapter itself.
+ * A control toggles the states returned by the following retrieve requests, like the device would.
+ *
+ * @author Harry / Symphony Dev Team<br>
+ * Created on 10/18/2026
+ * @since 1.0.0
+ */
+class RecordedDataprobeCommunicator extends DataprobeiBootPDUCommunicator {
+	private final RecordedResponses responses;
+	private final AtomicLong controls = new AtomicLong();
+	private volatile boolean toggled;
+
+	/**
+	 * Constructs a new {@link RecordedDataprobeCommunicator}.
+	 *
+	 * @param outlets the number of outlets of the recorded PDU
+	 * @throws IOException if the recording can not be loaded
+	 */
+	RecordedDataprobeCommunicator(int outlets) throws IOException {
+		responses = new RecordedResponses(outlets);
+		setHost("127.0.0.1");
+		setLogin("admin");
+		setPassword("admin");
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String doPost(String uri, String data) {
+		if (DataprobeCommand.API_LOGIN.equals(uri)) {
+			return RecordedResponses.LOGIN;
+		}
+		if (DataprobeCommand.CONTROL.equals(uri)) {
+			toggled = !toggled;
+			controls.incrementAndGet();
+			return RecordedResponses.CONTROL;
+		}
+		return responses.retrieve(RecordedResponses.sectionsOf(data), toggled);
+	}
+
+	/**
+	 * Inverts every outlet and group state returned from now on
+	 */
+	void toggleStates() {
+		toggled = !toggled;
+	}
+
+	/**
+	 * @return the number of control requests received
+	 */
+	long getControls() {
+		return controls.get();
+	}
+}
@@ -0,0 +1,147 @@
+/*
+ *  Copyright (c) 2024 AVI-SPL, Inc. All Rights Reserved.
+ */
+
+package com.insightsystems.symphony.dal.dataprobe;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map.Entry;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.insightsystems.symphony.dal.dataprobe.Serialisers.RequestTemplates;
+
+/**
+ * Retrieve responses recorded from an iBoot PDU, loaded from "recordings/pdu-&lt;outlets&gt;-outlets.json".
+ * The recording holds every section of services/retrieve/; a response is built for each combination of
+ * {@link RequestTemplates#NAMES}, {@link RequestTemplates#ANALOG} and {@link RequestTemplates#STATES},
+ * as the device only returns the sections it was asked for.
+ * The responses are compact JSON, as sent by the device.
+ *
+ * @author Harry / Symphony Dev Team<br>
+ * Created on 10/18/2026
+ * @since 1.0.0
+ */
+class RecordedResponses {
+	static final String LOGIN = "{\"success\":true,\"token\":\"Zm9yIGJlbmNobWFya2luZyBvbmx5\"}";
+	static final String CONTROL = "{\"success\":true}";
+
+	private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+	private final String[] retrieveResponses = new String[(RequestTemplates.NAMES | RequestTemplates.ANALOG | RequestTemplates.STATES) + 1];
+	private final String[] toggledResponses = new String[retrieveResponses.length];
+	private final List<String> outletIds = new ArrayList<>();
+	private final List<String> groupNames = new ArrayList<>();
+
+	/**
+	 * Loads the recording of a PDU
+	 *
+	 * @param outlets the number of outlets of the recorded PDU, 8, 24 or 48
+	 * @throws IOException if there is no recording for this number of outlets
+	 */
+	RecordedResponses(int outlets) throws IOException {
+		String resource = String.format("/recordings/pdu-%d-outlets.json", outlets);
+		JsonNode recording;
+		try (InputStream stream = RecordedResponses.class.getResourceAsStream(resource)) {
+			if (stream == null) {
+				throw new IOException("No recording " + resource);
+			}
+			recording = OBJECT_MAPPER.readTree(stream);
+		}
+		recording.at("/names/outletNames").fieldNames().forEachRemaining(outletIds::add);
+		recording.at("/names/groupNames").elements().forEachRemaining(name -> groupNames.add(name.asText()));
+		ObjectNode toggled = recording.deepCopy();
+		toggleStates((ObjectNode) toggled.get("outlets"));
+		toggleStates((ObjectNode) toggled.get("groups"));
+		for (int sections = 1; sections < retrieveResponses.length; sections++) {
+			retrieveResponses[sections] = select(recording, sections);
+			toggledResponses[sections] = select(toggled, sections);
+		}
+	}
+
+	/**
+	 * Returns the response to a retrieve request
+	 *
+	 * @param sections the requested sections
+	 * @param toggled whether every outlet and group state is inverted compared to the recording
+	 * @return the response body
+	 */
+	String retrieve(int sections, boolean toggled) {
+		return (toggled ? toggledResponses : retrieveResponses)[sections];
+	}
+
+	/**
+	 * @return the ids of the recorded outlets
+	 */
+	List<String> getOutletIds() {
+		return outletIds;
+	}
+
+	/**
+	 * @return the names of the recorded groups
+	 */
+	List<String> getGroupNames() {
+		return groupNames;
+	}
+
+	/**
+	 * Finds the sections requested by a retrieve request
+	 *
+	 * @param payload the request body
+	 * @return a combination of {@link RequestTemplates#NAMES}, {@link RequestTemplates#ANALOG} and {@link RequestTemplates#STATES}
+	 */
+	static int sectionsOf(String payload) {
+		int sections = 0;
+		if (payload.contains("\"names\":")) {
+			sections |= RequestTemplates.NAMES;
+		}
+		if (payload.contains("\"analog\":")) {
+			sections |= RequestTemplates.ANALOG;
+		}
+		if (payload.contains("\"outlets\":")) {
+			sections |= RequestTemplates.STATES;
+		}
+		return sections;
+	}
+
+	/**
+	 * Builds a response holding some sections of a recording
+	 *
+	 * @param recording the recorded response
+	 * @param sections the sections to keep
+	 * @return the compact response body
+	 * @throws IOException if the response can not be serialized
+	 */
+	private static String select(JsonNode recording, int sections) throws IOException {
+		ObjectNode response = OBJECT_MAPPER.createObjectNode();
+		response.set("success", recording.get("success"));
+		if ((sections & RequestTemplates.NAMES) != 0) {
+			response.set("names", recording.get("names"));
+		}
+		if ((sections & RequestTemplates.ANALOG) != 0) {
+			response.set("analog", recording.get("analog"));
+		}
+		if ((sections & RequestTemplates.STATES) != 0) {
+			response.set("outlets", recording.get("outlets"));
+			response.set("groups", recording.get("groups"));
+		}
+		return OBJECT_MAPPER.writeValueAsString(response);
+	}
+
+	/**
+	 * Inverts the On/Off states of a section
+	 *
+	 * @param states the outlet or group states
+	 */
+	private static void toggleStates(ObjectNode states) {
+		for (Iterator<Entry<String, JsonNode>> iterator = states.fields(); iterator.hasNext(); ) {
+			Entry<String, JsonNode> state = iterator.next();
+			state.setValue(OBJECT_MAPPER.getNodeFactory().textNode("On".equals(state.getValue().asText()) ? "Off" : "On"));
+		}
+	}
+}
@@ -0,0 +1,100 @@
+/*
+ *  Copyright (c) 2024 AVI-SPL, Inc. All Rights Reserved.
+ */
+
+package com.insightsystems.symphony.dal.dataprobe;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.insightsystems.symphony.dal.dataprobe.Serialisers.ControlObject;
+import com.insightsystems.symphony.dal.dataprobe.Serialisers.RequestTemplates;
+import com.insightsystems.symphony.dal.dataprobe.common.DataprobeConstant;
+
+/**
+ * Building of the request bodies by {@link RequestTemplates}.
+ *
+ * @author Harry / Symphony Dev Team<br>
+ * Created on 10/18/2026
+ * @since 1.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestSerializationBenchmark {
+	private static final String TOKEN = "Zm9yIGJlbmNobWFya2luZyBvbmx5";
+	private static final String RENEWED_TOKEN = "cmVuZXdlZCBmb3IgYmVuY2htYXJraW5n";
+
+	@Param({ "8", "24", "48" })
+	private int outlets;
+
+	private RequestTemplates requestTemplates;
+	private String[] outletIds;
+	private ControlObject outletControl;
+	private boolean renewed;
+
+	@Setup
+	public void setUp() throws IOException {
+		RecordedResponses responses = new RecordedResponses(outlets);
+		requestTemplates = new RequestTemplates();
+		requestTemplates.updateTopology(responses.getOutletIds(), responses.getGroupNames());
+		outletIds = responses.getOutletIds().toArray(new String[0]);
+		outletControl = new ControlObject(DataprobeConstant.OUTLET_COMMAND, "on", new String[] { "1" }, null, null);
+	}
+
+	/**
+	 * State retrieve with the same token as the previous request
+	 */
+	@Benchmark
+	public String retrieveStates() {
+		return requestTemplates.retrieve(TOKEN, RequestTemplates.STATES);
+	}
+
+	/**
+	 * Combined retrieve with the same token as the previous request
+	 */
+	@Benchmark
+	public String retrieveCombined() {
+		return requestTemplates.retrieve(TOKEN, RequestTemplates.ANALOG | RequestTemplates.STATES);
+	}
+
+	/**
+	 * Combined retrieve with a token differing from the previous request
+	 */
+	@Benchmark
+	public String retrieveCombinedRenewedToken() {
+		renewed = !renewed;
+		return requestTemplates.retrieve(renewed ? RENEWED_TOKEN : TOKEN, RequestTemplates.ANALOG | RequestTemplates.STATES);
+	}
+
+	/**
+	 * Retrieve of the states of every outlet after a control, which is not cached
+	 */
+	@Benchmark
+	public String retrieveControlledStates() {
+		return requestTemplates.retrieveStates(TOKEN, outletIds);
+	}
+
+	/**
+	 * Control of one outlet
+	 */
+	@Benchmark
+	public String control() {
+		return requestTemplates.control(TOKEN, outletControl);
+	}
+}
@@ -0,0 +1,105 @@
+/*
+ *  Copyright (c) 2024 AVI-SPL, Inc. All Rights Reserved.
+ */
+
+package com.insightsystems.symphony.dal.dataprobe;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.insightsystems.symphony.dal.dataprobe.Serialisers.RequestTemplates;
+
+/**
+ * Decoding of the retrieve responses by {@link DeviceResponseParser}, as done in retrieveMonitoringData,
+ * retrieveControllingState and the combined retrieve.
+ *
+ * @author Harry / Symphony Dev Team<br>
+ * Created on 10/18/2026
+ * @since 1.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseParsingBenchmark {
+	@Param({ "8", "24", "48" })
+	private int outlets;
+
+	private DeviceResponseParser parser;
+	private String monitoringResponse;
+	private String namesResponse;
+	private String stateResponse;
+	private String combinedResponse;
+
+	@Setup
+	public void setUp() throws IOException {
+		RecordedResponses responses = new RecordedResponses(outlets);
+		parser = new DeviceResponseParser(new HashMap<>(), new HashMap<>(), new AnalogChannelRegistry(new HashSet<>(), new HashMap<>()), new HashMap<>(),
+				new HashMap<>());
+		monitoringResponse = responses.retrieve(RequestTemplates.ANALOG, false);
+		namesResponse = responses.retrieve(RequestTemplates.NAMES | RequestTemplates.ANALOG, false);
+		stateResponse = responses.retrieve(RequestTemplates.STATES, false);
+		combinedResponse = responses.retrieve(RequestTemplates.ANALOG | RequestTemplates.STATES, false);
+	}
+
+	/**
+	 * Analog readings, the monitoring retrieve of every poll while the topology is cached
+	 */
+	@Benchmark
+	public DeviceResponse monitoring() throws IOException {
+		return decode(monitoringResponse);
+	}
+
+	/**
+	 * Names and analog readings, the monitoring retrieve when the topology is refreshed
+	 */
+	@Benchmark
+	public DeviceResponse monitoringWithNames() throws IOException {
+		return decode(namesResponse);
+	}
+
+	/**
+	 * Outlet and group states, the retrieve of retrieveControllingState
+	 */
+	@Benchmark
+	public DeviceResponse controllingState() throws IOException {
+		return decode(stateResponse);
+	}
+
+	/**
+	 * Analog readings and states, the combined retrieve of every poll while the topology is cached
+	 */
+	@Benchmark
+	public DeviceResponse combined() throws IOException {
+		return decode(combinedResponse);
+	}
+
+	/**
+	 * Decodes a response and applies it to the adapter structures, as a retrieve does once the response is validated
+	 *
+	 * @param content the response body
+	 * @return the decoded response
+	 * @throws IOException if the response is not a complete JSON object
+	 */
+	private DeviceResponse decode(String content) throws IOException {
+		DeviceResponse response = parser.parse(content);
+		parser.apply(response);
+		return response;
+	}
+}
@@ -0,0 +1,128 @@
+/*
+ *  Copyright (c) 2024 AVI-SPL, Inc. All Rights Reserved.
+ */
+
+package com.insightsystems.symphony.dal.dataprobe;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.avispl.symphony.api.dal.dto.control.AdvancedControllableProperty;
+import com.avispl.symphony.api.dal.dto.monitor.ExtendedStatistics;
+import com.avispl.symphony.api.dal.dto.monitor.Statistics;
+
+/**
+ * Polls of {@link DataprobeiBootPDUCommunicator} answered by {@link RecordedDataprobeCommunicator}, from the retrieve
+ * request to the published statistics, and the populate methods building the statistics of a poll.
+ * The populate methods are private, they are called through method handles on the statistics built by the first poll.
+ *
+ * @author Harry / Symphony Dev Team<br>
+ * Created on 10/18/2026
+ * @since 1.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatisticsBenchmark {
+	@Param({ "8", "24", "48" })
+	private int outlets;
+
+	private RecordedDataprobeCommunicator communicator;
+	private MethodHandle populateOutletName;
+	private MethodHandle populateGroupName;
+	private MethodHandle populateAnalogData;
+	private Map<String, String> stats;
+	private Map<String, String> dynamicStatistics;
+	private List<AdvancedControllableProperty> controls;
+
+	@Setup
+	public void setUp() throws Throwable {
+		communicator = new RecordedDataprobeCommunicator(outlets);
+		communicator.init();
+		communicator.getMultipleStatistics();
+		populateOutletName = privateMethod("populateOutletName", Map.class, List.class);
+		populateGroupName = privateMethod("populateGroupName", Map.class, List.class);
+		populateAnalogData = privateMethod("populateAnalogData", Map.class, Map.class);
+		Field field = DataprobeiBootPDUCommunicator.class.getDeclaredField("localExtendedStatistics");
+		field.setAccessible(true);
+		ExtendedStatistics extendedStatistics = (ExtendedStatistics) field.get(communicator);
+		stats = extendedStatistics.getStatistics();
+		dynamicStatistics = extendedStatistics.getDynamicStatistics();
+		controls = extendedStatistics.getControllableProperties();
+	}
+
+	@TearDown
+	public void tearDown() {
+		communicator.destroy();
+	}
+
+	/**
+	 * Poll of a device whose states did not change since the previous poll
+	 */
+	@Benchmark
+	public List<Statistics> poll() throws Exception {
+		return communicator.getMultipleStatistics();
+	}
+
+	/**
+	 * Poll of a device whose outlet and group states all changed since the previous poll
+	 */
+	@Benchmark
+	public List<Statistics> pollWithStateChanges() throws Exception {
+		communicator.toggleStates();
+		return communicator.getMultipleStatistics();
+	}
+
+	@Benchmark
+	public Map<String, String> populateOutletName() throws Throwable {
+		populateOutletName.invokeExact((DataprobeiBootPDUCommunicator) communicator, stats, controls);
+		return stats;
+	}
+
+	@Benchmark
+	public Map<String, String> populateGroupName() throws Throwable {
+		populateGroupName.invokeExact((DataprobeiBootPDUCommunicator) communicator, stats, controls);
+		return stats;
+	}
+
+	@Benchmark
+	public Map<String, String> populateAnalogData() throws Throwable {
+		populateAnalogData.invokeExact((DataprobeiBootPDUCommunicator) communicator, stats, dynamicStatistics);
+		return stats;
+	}
+
+	/**
+	 * Gives access to a private method of {@link DataprobeiBootPDUCommunicator}
+	 *
+	 * @param name the method name
+	 * @param parameterTypes the parameter types
+	 * @return the method handle, taking the communicator as first argument
+	 * @throws ReflectiveOperationException if there is no such method
+	 */
+	private static MethodHandle privateMethod(String name, Class<?>... parameterTypes) throws ReflectiveOperationException {
+		Method method = DataprobeiBootPDUCommunicator.class.getDeclaredMethod(name, parameterTypes);
+		method.setAccessible(true);
+		return MethodHandles.lookup().unreflect(method);
+	}
+}
@@ -0,0 +1,124 @@
+/*
+ *  Copyright (c) 2024 AVI-SPL, Inc. All Rights Reserved.
+ */
+
+package com.insightsystems.symphony.dal.dataprobe;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the recent readings of every analog channel slot in fixed-size ring buffers of primitive arrays,
+ * and computes the minimum, maximum and average over a time window.
+ * Once full, a buffer overwrites its oldest reading, so a window longer than the buffer covers only the readings it still holds.
+ *
+ * @author Harry / Symphony Dev Team<br>
+ * Created on 10/18/2026
+ * @since 1.0.0
+ */
+class AnalogAggregator {
+	static final int MIN = 0;
+	static final int MAX = 1;
+	static final int AVERAGE = 2;
+	static final int COUNT = 3;
+
+	private final int capacity;
+	private long[][] times = new long[0][];
+	private double[][] values = new double[0][];
+	private int[] heads = new int[0];
+	private int[] counts = new int[0];
+
+	/**
+	 * Constructs a new {@link AnalogAggregator}.
+	 *
+	 * @param capacity the number of readings kept per slot
+	 */
+	AnalogAggregator(int capacity) {
+		this.capacity = capacity;
+	}
+
+	/**
+	 * Stores a reading, overwriting the oldest one when the buffer of the slot is full
+	 *
+	 * @param slot the slot index in {@link AnalogChannelRegistry}
+	 * @param time the time of the reading
+	 * @param value the value converted to the unit of the property
+	 */
+	void add(int slot, long time, double value) {
+		ensureSlot(slot);
+		int head = heads[slot];
+		times[slot][head] = time;
+		values[slot][head] = value;
+		heads[slot] = (head + 1) % capacity;
+		if (counts[slot] < capacity) {
+			counts[slot]++;
+		}
+	}
+
+	/**
+	 * Computes the aggregates of the readings of a slot taken since a given time
+	 *
+	 * @param slot the slot index in {@link AnalogChannelRegistry}
+	 * @param since the oldest time included
+	 * @param result receives the minimum, maximum, average and number of readings at {@link #MIN}, {@link #MAX}, {@link #AVERAGE} and {@link #COUNT}
+	 * @return false if there is no reading in the window
+	 */
+	boolean aggregate(int slot, long since, double[] result) {
+		if (slot >= counts.length) {
+			return false;
+		}
+		double min = Double.POSITIVE_INFINITY;
+		double max = Double.NEGATIVE_INFINITY;
+		double sum = 0;
+		int found = 0;
+		long[] slotTimes = times[slot];
+		double[] slotValues = values[slot];
+		for (int i = 1, index = heads[slot]; i <= counts[slot]; i++) {
+			index = index == 0 ? capacity - 1 : index - 1;
+			if (slotTimes[index] < since) {
+				break;
+			}
+			double value = slotValues[index];
+			min = Math.min(min, value);
+			max = Math.max(max, value);
+			sum += value;
+			found++;
+		}
+		if (found == 0) {
+			return false;
+		}
+		result[MIN] = min;
+		result[MAX] = max;
+		result[AVERAGE] = sum / found;
+		result[COUNT] = found;
+		return true;
+	}
+
+	/**
+	 * Drops all readings
+	 */
+	void clear() {
+		Arrays.fill(heads, 0);
+		Arrays.fill(counts, 0);
+	}
+
+	/**
+	 * Allocates the buffers of a slot seen for the first time
+	 *
+	 * @param slot the slot index
+	 */
+	private void ensureSlot(int slot) {
+		if (slot < counts.length) {
+			return;
+		}
+		int size = slot + 1;
+		int previous = counts.length;
+		times = Arrays.copyOf(times, size);
+		values = Arrays.copyOf(values, size);
+		heads = Arrays.copyOf(heads, size);
+		counts = Arrays.copyOf(counts, size);
+		for (int i = previous; i < size; i++) {
+			times[i] = new long[capacity];
+			values[i] = new double[capacity];
+		}
+	}
+}
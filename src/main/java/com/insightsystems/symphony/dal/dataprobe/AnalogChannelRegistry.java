@@ -0,0 +1,334 @@
+/*
+ *  Copyright (c) 2024 AVI-SPL, Inc. All Rights Reserved.
+ */
+
+package com.insightsystems.symphony.dal.dataprobe;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import com.insightsystems.symphony.dal.dataprobe.common.metric.AnalogChannel;
+
+/**
+ * Registry of the analog readings reported by the device.
+ * Every reading name seen in a response is resolved once into a slot holding its property name, scale and
+ * historical flag; the readings of a poll are then stored as primitive doubles in the slot arrays.
+ * The value last written to the statistics is kept per slot as well, so changes are detected on the doubles,
+ * optionally with a deadband: an absolute value, or a percentage of the last written value when it ends with '%'.
+ * The number of decimals the device used for each reading is kept as well, so values are written with the precision
+ * reported by the device rather than the full representation of the double.
+ *
+ * @author Harry / Symphony Dev Team<br>
+ * Created on 10/18/2026
+ * @since 1.0.0
+ */
+class AnalogChannelRegistry {
+	private final Map<String, Integer> slotByResponseKey = new HashMap<>();
+	private AnalogChannel[] channels = new AnalogChannel[AnalogChannel.values().length];
+	private String[] propertyNames = new String[channels.length];
+	private double[] scales = new double[channels.length];
+	private int[] scaleDigits = new int[channels.length];
+	private int[] decimals = new int[channels.length];
+	private boolean[] historical = new boolean[channels.length];
+	private double[] values = new double[channels.length];
+	private boolean[] present = new boolean[channels.length];
+	private double[] reported = new double[channels.length];
+	private long[] reportedTimes = new long[channels.length];
+	private double[] deadbands = new double[channels.length];
+	private boolean[] relativeDeadbands = new boolean[channels.length];
+	private double[] baselines = new double[channels.length];
+	private final Set<String> historicalProperties;
+	private final Map<String, String> deadbandSettings;
+	private int size;
+
+	/**
+	 * Constructs a new {@link AnalogChannelRegistry}.
+	 *
+	 * @param historicalProperties the property names that are reported as historical statistics
+	 * @param deadbandSettings the deadband of each property name, e.g. "5" or "2%"
+	 */
+	AnalogChannelRegistry(Set<String> historicalProperties, Map<String, String> deadbandSettings) {
+		this.historicalProperties = historicalProperties;
+		this.deadbandSettings = deadbandSettings;
+	}
+
+	/**
+	 * Marks every reading as missing, before the analog section of a response is read
+	 */
+	void clearReadings() {
+		Arrays.fill(present, 0, size, false);
+	}
+
+	/**
+	 * Stores a reading
+	 *
+	 * @param responseKey the name of the reading in the device response
+	 * @param value the value reported by the device
+	 * @param decimals the number of decimals of the value reported by the device
+	 */
+	void update(String responseKey, double value, int decimals) {
+		Integer slot = slotByResponseKey.get(responseKey);
+		int index = slot != null ? slot : register(responseKey);
+		values[index] = value;
+		this.decimals[index] = decimals;
+		present[index] = true;
+	}
+
+	/**
+	 * Forgets the values written to the statistics, after the statistics were rebuilt
+	 */
+	void clearReported() {
+		Arrays.fill(reported, 0, size, Double.NaN);
+	}
+
+	/**
+	 * Resolves the historical flag of every slot again, after the historical properties changed
+	 */
+	void refreshHistoricalFlags() {
+		for (int i = 0; i < size; i++) {
+			historical[i] = historicalProperties.contains(propertyNames[i]);
+		}
+	}
+
+	/**
+	 * Resolves the deadband of every slot again, after the deadband settings changed
+	 */
+	void refreshDeadbands() {
+		for (int i = 0; i < size; i++) {
+			resolveDeadband(i);
+		}
+	}
+
+	/**
+	 * @return the number of slots
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * @param index the slot index
+	 * @return true if the last response contained this reading
+	 */
+	boolean isPresent(int index) {
+		return present[index];
+	}
+
+	/**
+	 * @param index the slot index
+	 * @return the channel of the slot, or null for an unknown reading
+	 */
+	AnalogChannel getChannel(int index) {
+		return channels[index];
+	}
+
+	/**
+	 * @param index the slot index
+	 * @return the property name, e.g. "CurrentLC1(mA)"
+	 */
+	String getPropertyName(int index) {
+		return propertyNames[index];
+	}
+
+	/**
+	 * @param index the slot index
+	 * @return the value as reported by the device
+	 */
+	double getRawValue(int index) {
+		return values[index];
+	}
+
+	/**
+	 * @param index the slot index
+	 * @return the value converted to the unit of the property
+	 */
+	double getValue(int index) {
+		return values[index] * scales[index];
+	}
+
+	/**
+	 * Formats a value of the slot with the precision reported by the device, adjusted to the scale of the property,
+	 * e.g. "120" for a voltage reported as 120 and "500" for a current reported as 0.5 A
+	 *
+	 * @param index the slot index
+	 * @param value the value converted to the unit of the property
+	 * @return the formatted value
+	 */
+	String format(int index, double value) {
+		int precision = getPrecision(index);
+		if (precision == 0) {
+			return Long.toString(Math.round(value));
+		}
+		return BigDecimal.valueOf(value).setScale(precision, RoundingMode.HALF_UP).toPlainString();
+	}
+
+	/**
+	 * Rounds a value of the slot to the precision of {@link #format(int, double)}, e.g. an average of the readings
+	 *
+	 * @param index the slot index
+	 * @param value the value converted to the unit of the property
+	 * @return the rounded value
+	 */
+	double round(int index, double value) {
+		int precision = getPrecision(index);
+		if (precision == 0) {
+			return Math.round(value);
+		}
+		return BigDecimal.valueOf(value).setScale(precision, RoundingMode.HALF_UP).doubleValue();
+	}
+
+	/**
+	 * @param index the slot index
+	 * @return the number of decimals reported by the device, adjusted to the scale of the property
+	 */
+	private int getPrecision(int index) {
+		return Math.max(0, decimals[index] - scaleDigits[index]);
+	}
+
+	/**
+	 * @param index the slot index
+	 * @return the value last written to the statistics, NaN if the property is not in the statistics
+	 */
+	double getReportedValue(int index) {
+		return reported[index];
+	}
+
+	/**
+	 * @param index the slot index
+	 * @return the time the value was last written to the statistics
+	 */
+	long getReportedTime(int index) {
+		return reportedTimes[index];
+	}
+
+	/**
+	 * @param index the slot index
+	 * @param value the value written to the statistics, NaN once the property is removed
+	 * @param time the time the value was written
+	 */
+	void setReportedValue(int index, double value, long time) {
+		reported[index] = value;
+		reportedTimes[index] = time;
+	}
+
+	/**
+	 * @param index the slot index
+	 * @return true if a deadband is configured for the property
+	 */
+	boolean hasDeadband(int index) {
+		return deadbands[index] > 0;
+	}
+
+	/**
+	 * Checks whether a value moved out of the deadband around the value last written to the statistics
+	 *
+	 * @param index the slot index
+	 * @param value the value converted to the unit of the property
+	 * @return true if nothing was written yet or the difference is larger than the deadband
+	 */
+	boolean exceedsDeadband(int index, double value) {
+		double last = reported[index];
+		if (Double.isNaN(last)) {
+			return true;
+		}
+		double deadband = relativeDeadbands[index] ? Math.abs(last) * deadbands[index] / 100 : deadbands[index];
+		return Math.abs(value - last) > deadband;
+	}
+
+	/**
+	 * Checks whether the reading moved away from its baseline, the reading of the last move, by more than a percentage of the
+	 * baseline and by more than ten units of the last digit reported by the device, so the noise of a reading near zero is ignored.
+	 * The baseline is set to the reading when it moved.
+	 *
+	 * @param index the slot index
+	 * @param percentage the threshold in percent of the baseline
+	 * @return true if there was no baseline or the reading moved beyond the threshold
+	 */
+	boolean moved(int index, double percentage) {
+		double baseline = baselines[index];
+		double value = values[index];
+		if (!Double.isNaN(baseline) && Math.abs(value - baseline) <= Math.max(Math.abs(baseline) * percentage / 100, 10 * Math.pow(10, -decimals[index]))) {
+			return false;
+		}
+		baselines[index] = value;
+		return true;
+	}
+
+	/**
+	 * Drops the baseline of a reading that is no longer reported, see {@link #moved(int, double)}
+	 *
+	 * @param index the slot index
+	 */
+	void clearBaseline(int index) {
+		baselines[index] = Double.NaN;
+	}
+
+	/**
+	 * @param index the slot index
+	 * @return true if the property is reported as a historical statistic
+	 */
+	boolean isHistorical(int index) {
+		return historical[index];
+	}
+
+	/**
+	 * Creates the slot of a reading seen for the first time
+	 *
+	 * @param responseKey the name of the reading in the device response
+	 * @return the slot index
+	 */
+	private int register(String responseKey) {
+		if (size == channels.length) {
+			int capacity = size * 2;
+			channels = Arrays.copyOf(channels, capacity);
+			propertyNames = Arrays.copyOf(propertyNames, capacity);
+			scales = Arrays.copyOf(scales, capacity);
+			scaleDigits = Arrays.copyOf(scaleDigits, capacity);
+			decimals = Arrays.copyOf(decimals, capacity);
+			historical = Arrays.copyOf(historical, capacity);
+			values = Arrays.copyOf(values, capacity);
+			present = Arrays.copyOf(present, capacity);
+			reported = Arrays.copyOf(reported, capacity);
+			reportedTimes = Arrays.copyOf(reportedTimes, capacity);
+			deadbands = Arrays.copyOf(deadbands, capacity);
+			relativeDeadbands = Arrays.copyOf(relativeDeadbands, capacity);
+			baselines = Arrays.copyOf(baselines, capacity);
+		}
+		AnalogChannel channel = AnalogChannel.getByResponseKey(responseKey);
+		int index = size++;
+		channels[index] = channel;
+		propertyNames[index] = channel != null ? channel.getPropertyName(responseKey) : responseKey;
+		scales[index] = channel != null ? channel.getScale() : 1;
+		scaleDigits[index] = (int) Math.round(Math.log10(scales[index]));
+		historical[index] = historicalProperties.contains(propertyNames[index]);
+		reported[index] = Double.NaN;
+		baselines[index] = Double.NaN;
+		resolveDeadband(index);
+		slotByResponseKey.put(responseKey, index);
+		return index;
+	}
+
+	/**
+	 * Reads the deadband of a slot from the settings, a setting that is not a number disables the deadband
+	 *
+	 * @param index the slot index
+	 */
+	private void resolveDeadband(int index) {
+		String setting = deadbandSettings.get(propertyNames[index]);
+		deadbands[index] = 0;
+		relativeDeadbands[index] = false;
+		if (setting == null) {
+			return;
+		}
+		relativeDeadbands[index] = setting.endsWith("%");
+		try {
+			deadbands[index] = Math.max(0, Double.parseDouble(relativeDeadbands[index] ? setting.substring(0, setting.length() - 1) : setting));
+		} catch (NumberFormatException e) {
+			deadbands[index] = 0;
+		}
+	}
+}
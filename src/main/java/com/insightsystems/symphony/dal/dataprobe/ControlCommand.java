@@ -0,0 +1,48 @@
+/*
+ *  Copyright (c) 2024 AVI-SPL, Inc. All Rights Reserved.
+ */
+
+package com.insightsystems.symphony.dal.dataprobe;
+
+import com.insightsystems.symphony.dal.dataprobe.Serialisers.ControlObject;
+
+/**
+ * A control waiting in the control queue to be sent to the device.
+ *
+ * @author Harry / Symphony Dev Team<br>
+ * Created on 10/18/2026
+ * @since 1.0.0
+ */
+class ControlCommand {
+	private final String property;
+	private final ControlObject controlObject;
+
+	/**
+	 * Constructs a new {@link ControlCommand}.
+	 *
+	 * @param property the name of the controllable property
+	 * @param controlObject the request to send to the device
+	 */
+	ControlCommand(String property, ControlObject controlObject) {
+		this.property = property;
+		this.controlObject = controlObject;
+	}
+
+	/**
+	 * Retrieves {@link #property}
+	 *
+	 * @return value of {@link #property}
+	 */
+	String getProperty() {
+		return property;
+	}
+
+	/**
+	 * Retrieves {@link #controlObject}
+	 *
+	 * @return value of {@link #controlObject}
+	 */
+	ControlObject getControlObject() {
+		return controlObject;
+	}
+}
@@ -11,27 +11,55 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.ReentrantLock;
 
 import com.avispl.symphony.api.dal.dto.control.AdvancedControllableProperty;
+import java.lang.management.ManagementFactory;
+import javax.management.ObjectName;
 
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.util.CollectionUtils;
+import org.springframework.web.client.RestTemplate;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.insightsystems.symphony.dal.dataprobe.Serialisers.ControlObject;
+import com.insightsystems.symphony.dal.dataprobe.common.AdaptivePollingInterval;
+import com.insightsystems.symphony.dal.dataprobe.common.CircuitBreaker;
 import com.insightsystems.symphony.dal.dataprobe.common.DataprobeCommand;
 import com.insightsystems.symphony.dal.dataprobe.common.DataprobeConstant;
 import com.insightsystems.symphony.dal.dataprobe.common.LoginInfo;
+import com.insightsystems.symphony.dal.dataprobe.common.metric.AnalogSampling;
 import com.insightsystems.symphony.dal.dataprobe.common.metric.DataprobeControlType;
+import com.insightsystems.symphony.dal.dataprobe.common.metric.DeviceAvailability;
 import com.insightsystems.symphony.dal.dataprobe.common.metric.Group;
+import com.insightsystems.symphony.dal.dataprobe.common.metric.HttpConnection;
 import com.insightsystems.symphony.dal.dataprobe.common.metric.Outlet;
+import com.insightsystems.symphony.dal.dataprobe.common.metric.PollPhase;
 import com.insightsystems.symphony.dal.dataprobe.common.metric.Sequence;
 import javax.security.auth.login.FailedLoginException;
 
@@ -39,6 +67,7 @@ import com.avispl.symphony.api.dal.control.Controller;
 import com.avispl.symphony.api.dal.dto.control.ControllableProperty;
 import com.avispl.symphony.api.dal.dto.monitor.ExtendedStatistics;
 import com.avispl.symphony.api.dal.dto.monitor.Statistics;
+import com.avispl.symphony.api.dal.error.CommandFailureException;
 import com.avispl.symphony.api.dal.error.ResourceNotReachableException;
 import com.avispl.symphony.api.dal.monitor.Monitorable;
 import com.avispl.symphony.dal.communicator.RestCommunicator;
@@ -80,20 +109,224 @@ public class DataprobeiBootPDUCommunicator extends RestCommunicator implements M
 	 */
 	private final ReentrantLock reentrantLock = new ReentrantLock();
 
+	/**
+	 * Lock guarding {@link #localExtendedStatistics} while it is updated by a poll or a control, never held during device I/O
+	 */
+	private final ReentrantLock statisticsLock = new ReentrantLock();
+
+	/**
+	 * Controls waiting to be sent to the device
+	 */
+	private volatile BlockingQueue<ControlCommand> controlQueue;
+
+	/**
+	 * Executor shared by all adapter instances to send their queued controls to the device.
+	 * An instance only takes a thread while it has controls to send.
+	 */
+	private static final ThreadPoolExecutor CONTROL_EXECUTOR = createSharedExecutor("Dataprobe control worker ",
+			DataprobeConstant.CONTROL_THREADS, DataprobeConstant.CONTROL_THREAD_KEEP_ALIVE);
+
+	/**
+	 * true while a task draining {@link #controlQueue} is scheduled or running
+	 */
+	private final AtomicBoolean controlDrainScheduled = new AtomicBoolean(false);
+
+	/**
+	 * Number of controls waiting in {@link #controlQueue} or being sent, per controllable property name
+	 */
+	private final Map<String, Integer> pendingControls = new ConcurrentHashMap<>();
+
+	/**
+	 * Configurable property for the maximum number of controls waiting to be sent
+	 */
+	private int controlQueueSize = DataprobeConstant.DEFAULT_CONTROL_QUEUE_SIZE;
+
+	/**
+	 * Configurable property for the time in milliseconds the control worker waits to collect outlet controls into one request
+	 */
+	private long controlBatchWindow = DataprobeConstant.DEFAULT_CONTROL_BATCH_WINDOW;
+
+	/**
+	 * Configurable property to poll the device on a background thread, {@link #getMultipleStatistics()} then only returns the latest statistics
+	 */
+	private boolean backgroundPolling;
+
+	/**
+	 * Configurable property for the time in milliseconds between two background polls
+	 */
+	private long pollingInterval = DataprobeConstant.DEFAULT_POLLING_INTERVAL;
+
+	/**
+	 * Configurable property for the maximum random delay in milliseconds added to {@link #pollingInterval}
+	 */
+	private long pollingJitter = DataprobeConstant.DEFAULT_POLLING_JITTER;
+
+	/**
+	 * Configurable property to adapt the background polling interval between {@link #minPollingInterval} and {@link #maxPollingInterval}
+	 * to the changes of the device state, the controls and the poll duration, instead of using {@link #pollingInterval}
+	 */
+	private boolean adaptivePolling;
+
+	/**
+	 * Configurable property for the shortest adaptive polling interval in milliseconds, used after a control or a change
+	 */
+	private long minPollingInterval = DataprobeConstant.DEFAULT_MIN_POLLING_INTERVAL;
+
+	/**
+	 * Configurable property for the longest adaptive polling interval in milliseconds, reached when nothing changes
+	 */
+	private long maxPollingInterval = DataprobeConstant.DEFAULT_MAX_POLLING_INTERVAL;
+
+	/**
+	 * Configurable property for the move of an analog reading, in percent, that counts as a change for the adaptive polling interval
+	 */
+	private double adaptivePollingThreshold = DataprobeConstant.DEFAULT_ADAPTIVE_POLLING_THRESHOLD;
+
+	/**
+	 * Adaptive interval state, null unless {@link #adaptivePolling} is enabled
+	 */
+	private volatile AdaptivePollingInterval adaptivePollingInterval;
+
+	/**
+	 * Set by the control worker after a control, so the next background poll keeps the minimum interval
+	 */
+	private final AtomicBoolean controlSentSinceLastPoll = new AtomicBoolean(false);
+
+	/**
+	 * Whether a poll since the last background poll saw an outlet or group state change or an analog move beyond
+	 * {@link #adaptivePollingThreshold}. The derived statistics, e.g. the aggregates and the data ages, are not considered.
+	 */
+	private final AtomicBoolean deviceStateChanged = new AtomicBoolean(false);
+
+	/**
+	 * Outlet and group states of the previous poll, compared to detect {@link #deviceStateChanged}
+	 */
+	private final Map<String, String> polledOutletStates = new HashMap<>();
+	private final Map<String, String> polledGroupStates = new HashMap<>();
+
+	/**
+	 * Scheduler running the background polls, null when {@link #backgroundPolling} is disabled
+	 */
+	private volatile ScheduledExecutorService pollingExecutor;
+
+	/**
+	 * Next scheduled background poll, null while a poll is running. Guarded by {@link #pollingScheduleLock}
+	 */
+	private ScheduledFuture<?> nextPoll;
+
+	/**
+	 * Lock guarding {@link #nextPoll}
+	 */
+	private final Object pollingScheduleLock = new Object();
+
+	/**
+	 * Error of the last background poll, null if it succeeded
+	 */
+	private volatile Exception pollingError;
+
+	/**
+	 * Configurable property for the number of consecutive failed requests after which the device is considered unreachable,
+	 * 0 to always contact the device
+	 */
+	private int circuitBreakerThreshold = DataprobeConstant.DEFAULT_CIRCUIT_BREAKER_THRESHOLD;
+
+	/**
+	 * Configurable property for the time in milliseconds before the first request to an unreachable device
+	 */
+	private long circuitBreakerMinBackoff = DataprobeConstant.DEFAULT_CIRCUIT_BREAKER_MIN_BACKOFF;
+
+	/**
+	 * Configurable property for the longest time in milliseconds between two requests to an unreachable device
+	 */
+	private long circuitBreakerMaxBackoff = DataprobeConstant.DEFAULT_CIRCUIT_BREAKER_MAX_BACKOFF;
+
+	/**
+	 * Breaker shared by the polls and the controls, replaced on each init with the configured threshold and backoff
+	 */
+	private volatile CircuitBreaker circuitBreaker = new CircuitBreaker(DataprobeConstant.DEFAULT_CIRCUIT_BREAKER_THRESHOLD,
+			DataprobeConstant.DEFAULT_CIRCUIT_BREAKER_MIN_BACKOFF, DataprobeConstant.DEFAULT_CIRCUIT_BREAKER_MAX_BACKOFF);
+
+	/**
+	 * Time the monitoring data (names and analog readings) and the outlet/group states were last retrieved, 0 before the first time
+	 */
+	private volatile long monitoringRetrieveTime;
+	private volatile long stateRetrieveTime;
+
+	/**
+	 * Set when the last poll failed to retrieve the monitoring data or the states, whose previous values are then shown.
+	 * Guarded by {@link #reentrantLock}
+	 */
+	private boolean monitoringStale;
+	private boolean statesStale;
+
 	/**
 	 * Store previous/current ExtendedStatistics
+	 * The statistics maps and controllable properties are kept between polls and updated in place under {@link #statisticsLock}.
+	 * Controllable properties are never modified once added: a changed property replaces the previous instance in the list,
+	 * so the properties already handed out in {@link #publishedStatistics} stay untouched.
 	 */
 	private ExtendedStatistics localExtendedStatistics;
 
 	/**
-	 * Adapter metadata properties - adapter version and build date
+	 * Immutable copy of {@link #localExtendedStatistics} returned by {@link #getMultipleStatistics()}.
+	 * A new copy is published after a poll or a control only when the statistics changed.
 	 */
-	private Properties adapterProperties;
+	private final AtomicReference<ExtendedStatistics> publishedStatistics = new AtomicReference<>();
+
+	/**
+	 * Names of the statistics and controllable properties of {@link #localExtendedStatistics} changed since the last publication.
+	 * Filled where the values are written, from the device model, guarded by {@link #statisticsLock}.
+	 */
+	private final Set<String> changedProperties = new HashSet<>();
+
+	/**
+	 * Typed values of the numeric and boolean statistics of {@link #localExtendedStatistics}, compared with the new values
+	 * before they are formatted. Guarded by {@link #statisticsLock}
+	 */
+	private final Map<String, Double> reportedStatistics = new HashMap<>();
+
+	/**
+	 * Configurable property to return only the properties changed since the previous call of {@link #getMultipleStatistics()}
+	 */
+	private boolean deltaStatistics;
+
+	/**
+	 * Properties changed in the published statistics and not yet returned in delta mode, guarded by {@link #statisticsLock}
+	 */
+	private final Set<String> undeliveredChanges = new HashSet<>();
+
+	/**
+	 * Set when the statistics were rebuilt, so that the next delta contains all statistics. Guarded by {@link #statisticsLock}
+	 */
+	private boolean fullDeliveryRequired = true;
+
+	/**
+	 * Statistics returned by the last call in delta mode, compared to detect the removed properties
+	 */
+	private ExtendedStatistics deliveredStatistics;
+
+	/**
+	 * Position of each controllable property in the control list of {@link #localExtendedStatistics}, by name.
+	 * The list keeps the insertion order, the index makes add, replace and update constant time.
+	 */
+	private final Map<String, Integer> controllablePropertyIndex = new HashMap<>();
+
+	/**
+	 * Set when the set of statistics changes (names, sequences or historical properties), so that
+	 * {@link #localExtendedStatistics} is rebuilt on the next poll
+	 */
+	private volatile boolean statisticsLayoutChanged = true;
+
+	/**
+	 * Outlet ids and group names {@link #localExtendedStatistics} was built for
+	 */
+	private final Set<String> layoutOutletIds = new HashSet<>();
+	private final Set<String> layoutGroupNames = new HashSet<>();
 
 	/**
-	 * isEmergencyDelivery to check if control flow is trigger
+	 * Adapter metadata properties - adapter version and build date
 	 */
-	private boolean isEmergencyDelivery;
+	private Properties adapterProperties;
 
 	/**
 	 * A mapper for reading and writing JSON using Jackson library.
@@ -102,10 +335,96 @@ public class DataprobeiBootPDUCommunicator extends RestCommunicator implements M
 	 */
 	private final ObjectMapper objectMapper = new ObjectMapper();
 
+	/**
+	 * Streaming decoder writing retrieve/control responses into the maps below
+	 */
+	private final DeviceResponseParser responseParser;
+
+	/**
+	 * Outlet and group states retrieved by the control worker after a control
+	 */
+	private final Map<String, String> controlledOutletStates = new HashMap<>();
+	private final Map<String, String> controlledGroupStates = new HashMap<>();
+
+	/**
+	 * Sequence taken by every retrieve of the outlet and group states before it is sent, so that states retrieved later win
+	 */
+	private final AtomicLong stateRetrieveSequence = new AtomicLong();
+
+	/**
+	 * Sequence of the last state retrieve applied by a poll
+	 */
+	private volatile long polledStateSequence;
+
+	/**
+	 * Sequence of the retrieve each outlet and group state in the statistics comes from, keyed by the property prefix,
+	 * e.g. "Outlet_1", guarded by {@link #statisticsLock}
+	 */
+	private final Map<String, Long> stateSequences = new HashMap<>();
+
+	/**
+	 * States patched after a control that are newer than the states of the last poll, keyed by the property prefix,
+	 * guarded by {@link #statisticsLock}
+	 */
+	private final Map<String, String> refreshedStates = new HashMap<>();
+
+	/**
+	 * Decoder used by the control worker, writing the states into {@link #controlledOutletStates} and {@link #controlledGroupStates}
+	 * so that it never touches the maps of the poll
+	 */
+	private final DeviceResponseParser controlResponseParser;
+
+	/**
+	 * Pre-serialized retrieve and control requests
+	 */
+	private final Serialisers.RequestTemplates requestTemplates = new Serialisers.RequestTemplates();
+
 	/**
 	 * the login info
 	 */
-	private LoginInfo loginInfo;
+	private final LoginInfo loginInfo = new LoginInfo();
+
+	/**
+	 * Lock to make sure only one authentication request is in flight at a time
+	 */
+	private final Object authenticationLock = new Object();
+
+	/**
+	 * Executor shared by all adapter instances to refresh their tokens in the background before they expire.
+	 * Its threads are only kept while refreshes are running, so idle instances do not hold a thread each.
+	 */
+	private static final ThreadPoolExecutor TOKEN_REFRESH_EXECUTOR = createSharedExecutor("Dataprobe token refresh ",
+			DataprobeConstant.TOKEN_REFRESH_THREADS, DataprobeConstant.TOKEN_REFRESH_THREAD_KEEP_ALIVE);
+
+	/**
+	 * true while a background token refresh is scheduled or running
+	 */
+	private final AtomicBoolean tokenRefreshInProgress = new AtomicBoolean(false);
+
+	/**
+	 * Configurable property for the token lifetime in seconds
+	 */
+	private long tokenTimeout = LoginInfo.DEFAULT_TOKEN_TIMEOUT / 1000;
+
+	/**
+	 * Configurable property to retrieve names, analog and outlet/group states in a single request
+	 */
+	private boolean combinedRetrieve = true;
+
+	/**
+	 * Set to false once the device rejects a combined retrieve request, the two-step retrieve is used from then on
+	 */
+	private volatile boolean combinedRetrieveSupported = true;
+
+	/**
+	 * Configurable property for the interval in seconds between two retrievals of the outlet/group names
+	 */
+	private long topologyRefreshInterval = DataprobeConstant.DEFAULT_TOPOLOGY_REFRESH_INTERVAL;
+
+	/**
+	 * Time the outlet/group names were last retrieved
+	 */
+	private volatile long topologyRetrievedTime;
 
 	/**
 	 * List name of Groups
@@ -128,14 +447,14 @@ public class DataprobeiBootPDUCommunicator extends RestCommunicator implements M
 	private final Map<String, String> groupStates = new HashMap<>();
 
 	/**
-	 * List name of analog
+	 * Analog readings, resolved once per channel
 	 */
-	private final Map<String, String> analogProperty = new HashMap<>();
+	private final AnalogChannelRegistry analogChannels;
 
 	/**
 	 * Configurable property for historical properties, comma separated values kept as set locally
 	 */
-	private Set<String> historicalProperties = new HashSet<>();
+	private final Set<String> historicalProperties = new HashSet<>();
 
 	/**
 	 * Retrieves {@link #historicalProperties}
@@ -158,334 +477,2055 @@ public class DataprobeiBootPDUCommunicator extends RestCommunicator implements M
 				this.historicalProperties.add(propertyName.trim());
 			});
 		}
+		analogChannels.refreshHistoricalFlags();
+		statisticsLayoutChanged = true;
 	}
 
 	/**
-	 * Configurable property for sequence properties, comma separated values kept as set locally
+	 * Configurable property for the deadband of historical properties, e.g. "CurrentLC1(mA):5,TemperatureT1(C):2%".
+	 * A historical point is only sent when the value moves more than the deadband, an absolute value or a percentage
+	 * of the last sent value, or when {@link #historicalHeartbeat} elapsed.
 	 */
-	private Set<String> sequenceNames = new HashSet<>();
+	private final Map<String, String> historicalDeadbands = new LinkedHashMap<>();
 
 	/**
-	 * Retrieves {@link #sequenceNames}
+	 * Configurable property for the maximum time in seconds without a historical point for a property with a deadband
+	 */
+	private long historicalHeartbeat = DataprobeConstant.DEFAULT_HISTORICAL_HEARTBEAT;
+
+	/**
+	 * Retrieves {@link #historicalDeadbands}
 	 *
-	 * @return value of {@link #sequenceNames}
+	 * @return value of {@link #historicalDeadbands}
 	 */
-	public String getSequenceNames() {
-		return String.join(",", this.sequenceNames);
+	public String getHistoricalDeadbands() {
+		StringBuilder builder = new StringBuilder();
+		for (Entry<String, String> deadband : historicalDeadbands.entrySet()) {
+			if (builder.length() > 0) {
+				builder.append(',');
+			}
+			builder.append(deadband.getKey()).append(':').append(deadband.getValue());
+		}
+		return builder.toString();
 	}
 
 	/**
-	 * Sets {@link #sequenceNames} value
+	 * Sets {@link #historicalDeadbands} value
 	 *
-	 * @param sequenceNames new value of {@link #sequenceNames}
+	 * @param historicalDeadbands new value of {@link #historicalDeadbands}, comma separated "property:deadband" pairs
 	 */
-	public void setSequenceNames(String sequenceNames) {
-		this.sequenceNames.clear();
-		if (StringUtils.isNotNullOrEmpty(sequenceNames)) {
-			Arrays.asList(sequenceNames.split(",")).forEach(propertyName -> {
-				this.sequenceNames.add(propertyName.trim());
-			});
+	public void setHistoricalDeadbands(String historicalDeadbands) {
+		statisticsLock.lock();
+		try {
+			this.historicalDeadbands.clear();
+			if (StringUtils.isNotNullOrEmpty(historicalDeadbands)) {
+				for (String item : historicalDeadbands.split(",")) {
+					int separator = item.lastIndexOf(':');
+					if (separator <= 0) {
+						logger.warn(String.format("Invalid historical deadband %s, expected property:deadband", item));
+						continue;
+					}
+					this.historicalDeadbands.put(item.substring(0, separator).trim(), item.substring(separator + 1).trim());
+				}
+			}
+			analogChannels.refreshDeadbands();
+		} finally {
+			statisticsLock.unlock();
 		}
 	}
 
 	/**
-	 * Constructs a new instance of DataprobeiBootPDUCommunicator.
+	 * Retrieves {@link #historicalHeartbeat}
+	 *
+	 * @return value of {@link #historicalHeartbeat}
 	 */
-	public DataprobeiBootPDUCommunicator() throws IOException {
-		adapterProperties = new Properties();
-		adapterProperties.load(getClass().getResourceAsStream("/version.properties"));
-		this.setTrustAllCertificates(true);
+	public long getHistoricalHeartbeat() {
+		return historicalHeartbeat;
 	}
 
 	/**
-	 * {@inheritDoc}
+	 * Sets {@link #historicalHeartbeat} value
+	 *
+	 * @param historicalHeartbeat new value of {@link #historicalHeartbeat}
 	 */
-	@Override
-	public void controlProperty(ControllableProperty controllableProperty) throws Exception {
-		reentrantLock.lock();
-		try {
-			if (localExtendedStatistics == null) {
-				return;
-			}
-			Map<String, String> stats = localExtendedStatistics.getStatistics();
-			List<AdvancedControllableProperty> advancedControllableProperties = localExtendedStatistics.getControllableProperties();
-			String controlProperty = controllableProperty.getProperty();
-			String value = String.valueOf(controllableProperty.getValue());
-			DataprobeControlType controlType = getByDefaultName(controlProperty);
-			ControlObject controlObject = null;
-			switch (controlType) {
-				case OUTLET:
-					controlObject = handleOutletAndGroupControl(controlProperty, value, DataprobeConstant.OUTLET_COMMAND);
-					break;
-				case GROUP:
-					controlObject = handleOutletAndGroupControl(controlProperty, value, DataprobeConstant.GROUP_COMMAND);
-					break;
-				case SEQUENCE:
-					controlObject = handleSequenceControl(controlProperty);
-					break;
-			}
-			if (controlObject != null) {
-				sendCommandToControlDevice(controlObject);
-				updateValueForTheControllableProperty(controlProperty, value, stats, advancedControllableProperties);
+	public void setHistoricalHeartbeat(long historicalHeartbeat) {
+		this.historicalHeartbeat = Math.max(0, historicalHeartbeat);
+	}
+
+	/**
+	 * Configurable property for the windows of the analog aggregates, e.g. "1m,5m,1h".
+	 * For each window the minimum, maximum and average of every analog property are reported, e.g. "CurrentLC1(mA)#Max5m".
+	 */
+	private String analogAggregateWindows = DataprobeConstant.EMPTY;
+
+	/**
+	 * Length in milliseconds and label of each window of {@link #analogAggregateWindows}
+	 */
+	private volatile long[] aggregateWindows = new long[0];
+	private volatile String[] aggregateLabels = new String[0];
+
+	/**
+	 * Recent analog readings the aggregates are computed from, guarded by {@link #statisticsLock}
+	 */
+	private final AnalogAggregator analogAggregator = new AnalogAggregator(DataprobeConstant.AGGREGATE_CAPACITY);
+
+	/**
+	 * Minimum, maximum and average of the aggregate being computed
+	 */
+	private final double[] aggregateResult = new double[4];
+
+	/**
+	 * Retrieves {@link #analogAggregateWindows}
+	 *
+	 * @return value of {@link #analogAggregateWindows}
+	 */
+	public String getAnalogAggregateWindows() {
+		return analogAggregateWindows;
+	}
+
+	/**
+	 * Sets {@link #analogAggregateWindows} value
+	 *
+	 * @param analogAggregateWindows new value of {@link #analogAggregateWindows}, comma separated durations in s, m or h
+	 */
+	public void setAnalogAggregateWindows(String analogAggregateWindows) {
+		List<Long> windows = new ArrayList<>();
+		List<String> labels = new ArrayList<>();
+		if (StringUtils.isNotNullOrEmpty(analogAggregateWindows)) {
+			for (String item : analogAggregateWindows.split(",")) {
+				String label = item.trim();
+				long window = parseDuration(label);
+				if (window <= 0) {
+					logger.warn(String.format("Invalid analog aggregate window %s, expected a duration such as 30s, 5m or 1h", label));
+					continue;
+				}
+				windows.add(window);
+				labels.add(label);
 			}
-		} finally {
-			reentrantLock.unlock();
 		}
+		this.analogAggregateWindows = String.join(",", labels);
+		this.aggregateWindows = windows.stream().mapToLong(Long::longValue).toArray();
+		this.aggregateLabels = labels.toArray(new String[0]);
+		statisticsLayoutChanged = true;
 	}
 
 	/**
-	 * {@inheritDoc}
+	 * Parses a duration such as "30s", "5m" or "1h"
+	 *
+	 * @param duration the duration
+	 * @return the duration in milliseconds, or 0 if it is invalid
 	 */
-	@Override
-	public void controlProperties(List<ControllableProperty> controllableProperties) throws Exception {
-		if (CollectionUtils.isEmpty(controllableProperties)) {
-			throw new IllegalArgumentException("ControllableProperties can not be null or empty");
+	private static long parseDuration(String duration) {
+		if (duration.length() < 2) {
+			return 0;
 		}
-		for (ControllableProperty p : controllableProperties) {
-			try {
-				controlProperty(p);
-			} catch (Exception e) {
-				logger.error(String.format("Error when control property %s", p.getProperty()), e);
-			}
+		long unit;
+		switch (duration.charAt(duration.length() - 1)) {
+			case 's':
+				unit = 1000;
+				break;
+			case 'm':
+				unit = 60000;
+				break;
+			case 'h':
+				unit = 3600000;
+				break;
+			default:
+				return 0;
+		}
+		try {
+			return Long.parseLong(duration.substring(0, duration.length() - 1)) * unit;
+		} catch (NumberFormatException e) {
+			return 0;
 		}
 	}
 
 	/**
-	 * Authenticates the user by sending a login request and retrieves the token.
-	 *
-	 * @throws Exception if an error occurs during the login process.
-	 * {@inheritDoc}
+	 * Configurable property for the time in milliseconds between two samples of the analog sampling mode
+	 */
+	private long analogSamplingInterval = DataprobeConstant.DEFAULT_ANALOG_SAMPLING_INTERVAL;
+
+	/**
+	 * Configurable property for the time in seconds after which the analog sampling mode stops by itself
+	 */
+	private long analogSamplingDuration = DataprobeConstant.DEFAULT_ANALOG_SAMPLING_DURATION;
+
+	/**
+	 * Scheduler taking the analog samples, null while the sampling mode is stopped
+	 */
+	private volatile ScheduledExecutorService samplingExecutor;
+
+	/**
+	 * Time the sampling mode was started
+	 */
+	private volatile long samplingStartTime;
+
+	/**
+	 * Analog readings of the last sample, resolved independently of {@link #analogChannels} since samples are taken beside the polls.
+	 * Written by {@link #samplingResponseParser} and read under {@link #samplingLock}
+	 */
+	private final AnalogChannelRegistry samplingChannels;
+
+	/**
+	 * Decoder of the sampling responses, writing the readings into {@link #samplingChannels} under {@link #samplingLock}
+	 */
+	private final DeviceResponseParser samplingResponseParser;
+
+	/**
+	 * Samples of the sampling mode, guarded by {@link #samplingLock}
+	 */
+	private final AnalogAggregator samplingAggregator = new AnalogAggregator(DataprobeConstant.SAMPLING_CAPACITY);
+
+	/**
+	 * Lock guarding {@link #samplingChannels} and {@link #samplingAggregator}, the aggregates of a poll are computed under
+	 * {@link #statisticsLock} as well
+	 */
+	private final Object samplingLock = new Object();
+
+	/**
+	 * Time of the last sampling summary, the next summary covers the samples taken since
+	 */
+	private long samplingSummaryTime;
+
+	/**
+	 * Retrieves {@link #analogSamplingInterval}
+	 *
+	 * @return value of {@link #analogSamplingInterval}
+	 */
+	public long getAnalogSamplingInterval() {
+		return analogSamplingInterval;
+	}
+
+	/**
+	 * Sets {@link #analogSamplingInterval} value, applied when the sampling mode is started
+	 *
+	 * @param analogSamplingInterval new value of {@link #analogSamplingInterval}, at least 200
+	 */
+	public void setAnalogSamplingInterval(long analogSamplingInterval) {
+		this.analogSamplingInterval = Math.max(200, analogSamplingInterval);
+	}
+
+	/**
+	 * Retrieves {@link #analogSamplingDuration}
+	 *
+	 * @return value of {@link #analogSamplingDuration}
+	 */
+	public long getAnalogSamplingDuration() {
+		return analogSamplingDuration;
+	}
+
+	/**
+	 * Sets {@link #analogSamplingDuration} value
+	 *
+	 * @param analogSamplingDuration new value of {@link #analogSamplingDuration}
+	 */
+	public void setAnalogSamplingDuration(long analogSamplingDuration) {
+		this.analogSamplingDuration = Math.max(1, analogSamplingDuration);
+	}
+
+	/**
+	 * Latency and error counters of the authentication, retrieve, parsing, statistics and control phases
+	 */
+	private final PhaseMetrics phaseMetrics = new PhaseMetrics();
+
+	/**
+	 * Configurable property to register {@link #phaseMetrics} as an MBean on the platform MBean server
+	 */
+	private boolean jmxMetrics;
+
+	/**
+	 * Name {@link #phaseMetrics} is registered under, null when it is not registered
+	 */
+	private ObjectName jmxObjectName;
+
+	/**
+	 * Retrieves {@link #jmxMetrics}
+	 *
+	 * @return value of {@link #jmxMetrics}
+	 */
+	public boolean isJmxMetrics() {
+		return jmxMetrics;
+	}
+
+	/**
+	 * Sets {@link #jmxMetrics} value, applied on the next initialization
+	 *
+	 * @param jmxMetrics new value of {@link #jmxMetrics}
+	 */
+	public void setJmxMetrics(boolean jmxMetrics) {
+		this.jmxMetrics = jmxMetrics;
+	}
+
+	/**
+	 * Counters of the connections opened and reused to reach the device
+	 */
+	private final HttpConnectionMetrics connectionMetrics = new HttpConnectionMetrics();
+
+	/**
+	 * Template whose client was instrumented with {@link #connectionMetrics}, the base communicator builds a new one after a reconnection
+	 */
+	private RestTemplate instrumentedRestTemplate;
+
+	/**
+	 * Metrics written into the last published statistics, see {@link #publishStatistics()}
+	 */
+	private Map<String, String> publishedMetrics = Collections.emptyMap();
+
+	/**
+	 * Time {@link #publishedMetrics} was last refreshed
+	 */
+	private long metricsPublishedTime;
+
+	/**
+	 * Whether {@link #publishedMetrics} were refreshed since the last delta was delivered
+	 */
+	private boolean metricsUndelivered;
+
+	/**
+	 * Configurable property for sequence properties, comma separated values kept as set locally
+	 */
+	private Set<String> sequenceNames = new HashSet<>();
+
+	/**
+	 * Retrieves {@link #sequenceNames}
+	 *
+	 * @return value of {@link #sequenceNames}
+	 */
+	public String getSequenceNames() {
+		return String.join(",", this.sequenceNames);
+	}
+
+	/**
+	 * Sets {@link #sequenceNames} value
+	 *
+	 * @param sequenceNames new value of {@link #sequenceNames}
+	 */
+	public void setSequenceNames(String sequenceNames) {
+		this.sequenceNames.clear();
+		if (StringUtils.isNotNullOrEmpty(sequenceNames)) {
+			Arrays.asList(sequenceNames.split(",")).forEach(propertyName -> {
+				this.sequenceNames.add(propertyName.trim());
+			});
+		}
+		statisticsLayoutChanged = true;
+	}
+
+	/**
+	 * Retrieves {@link #tokenTimeout}
+	 *
+	 * @return value of {@link #tokenTimeout}
+	 */
+	public long getTokenTimeout() {
+		return tokenTimeout;
+	}
+
+	/**
+	 * Sets {@link #tokenTimeout} value
+	 *
+	 * @param tokenTimeout new value of {@link #tokenTimeout}, in seconds
+	 */
+	public void setTokenTimeout(long tokenTimeout) {
+		this.tokenTimeout = tokenTimeout > 0 ? tokenTimeout : LoginInfo.DEFAULT_TOKEN_TIMEOUT / 1000;
+		this.loginInfo.setTokenTimeout(this.tokenTimeout * 1000);
+	}
+
+	/**
+	 * Retrieves {@link #combinedRetrieve}
+	 *
+	 * @return value of {@link #combinedRetrieve}
+	 */
+	public boolean isCombinedRetrieve() {
+		return combinedRetrieve;
+	}
+
+	/**
+	 * Sets {@link #combinedRetrieve} value
+	 *
+	 * @param combinedRetrieve new value of {@link #combinedRetrieve}
+	 */
+	public void setCombinedRetrieve(boolean combinedRetrieve) {
+		this.combinedRetrieve = combinedRetrieve;
+	}
+
+	/**
+	 * Retrieves {@link #topologyRefreshInterval}
+	 *
+	 * @return value of {@link #topologyRefreshInterval}
+	 */
+	public long getTopologyRefreshInterval() {
+		return topologyRefreshInterval;
+	}
+
+	/**
+	 * Sets {@link #topologyRefreshInterval} value
+	 *
+	 * @param topologyRefreshInterval new value of {@link #topologyRefreshInterval}, in seconds
+	 */
+	public void setTopologyRefreshInterval(long topologyRefreshInterval) {
+		this.topologyRefreshInterval = Math.max(0, topologyRefreshInterval);
+	}
+
+	/**
+	 * Retrieves {@link #controlQueueSize}
+	 *
+	 * @return value of {@link #controlQueueSize}
+	 */
+	public int getControlQueueSize() {
+		return controlQueueSize;
+	}
+
+	/**
+	 * Sets {@link #controlQueueSize} value
+	 *
+	 * @param controlQueueSize new value of {@link #controlQueueSize}
+	 */
+	public void setControlQueueSize(int controlQueueSize) {
+		this.controlQueueSize = controlQueueSize > 0 ? controlQueueSize : DataprobeConstant.DEFAULT_CONTROL_QUEUE_SIZE;
+	}
+
+	/**
+	 * Retrieves {@link #controlBatchWindow}
+	 *
+	 * @return value of {@link #controlBatchWindow}
+	 */
+	public long getControlBatchWindow() {
+		return controlBatchWindow;
+	}
+
+	/**
+	 * Sets {@link #controlBatchWindow} value
+	 *
+	 * @param controlBatchWindow new value of {@link #controlBatchWindow}, 0 sends only the controls already queued together
+	 */
+	public void setControlBatchWindow(long controlBatchWindow) {
+		this.controlBatchWindow = Math.max(0, controlBatchWindow);
+	}
+
+	/**
+	 * Retrieves {@link #backgroundPolling}
+	 *
+	 * @return value of {@link #backgroundPolling}
+	 */
+	public boolean isBackgroundPolling() {
+		return backgroundPolling;
+	}
+
+	/**
+	 * Sets {@link #backgroundPolling} value, applied on the next initialization
+	 *
+	 * @param backgroundPolling new value of {@link #backgroundPolling}
+	 */
+	public void setBackgroundPolling(boolean backgroundPolling) {
+		this.backgroundPolling = backgroundPolling;
+	}
+
+	/**
+	 * Retrieves {@link #pollingInterval}
+	 *
+	 * @return value of {@link #pollingInterval}
+	 */
+	public long getPollingInterval() {
+		return pollingInterval;
+	}
+
+	/**
+	 * Sets {@link #pollingInterval} value
+	 *
+	 * @param pollingInterval new value of {@link #pollingInterval}, at least 1000
+	 */
+	public void setPollingInterval(long pollingInterval) {
+		this.pollingInterval = Math.max(1000, pollingInterval);
+	}
+
+	/**
+	 * Retrieves {@link #pollingJitter}
+	 *
+	 * @return value of {@link #pollingJitter}
+	 */
+	public long getPollingJitter() {
+		return pollingJitter;
+	}
+
+	/**
+	 * Sets {@link #pollingJitter} value
+	 *
+	 * @param pollingJitter new value of {@link #pollingJitter}, 0 disables the jitter
+	 */
+	public void setPollingJitter(long pollingJitter) {
+		this.pollingJitter = Math.max(0, pollingJitter);
+	}
+
+	/**
+	 * Retrieves {@link #adaptivePolling}
+	 *
+	 * @return value of {@link #adaptivePolling}
+	 */
+	public boolean isAdaptivePolling() {
+		return adaptivePolling;
+	}
+
+	/**
+	 * Sets {@link #adaptivePolling} value, applied on the next initialization
+	 *
+	 * @param adaptivePolling new value of {@link #adaptivePolling}
+	 */
+	public void setAdaptivePolling(boolean adaptivePolling) {
+		this.adaptivePolling = adaptivePolling;
+	}
+
+	/**
+	 * Retrieves {@link #minPollingInterval}
+	 *
+	 * @return value of {@link #minPollingInterval}
+	 */
+	public long getMinPollingInterval() {
+		return minPollingInterval;
+	}
+
+	/**
+	 * Sets {@link #minPollingInterval} value
+	 *
+	 * @param minPollingInterval new value of {@link #minPollingInterval}, at least 1000
+	 */
+	public void setMinPollingInterval(long minPollingInterval) {
+		this.minPollingInterval = Math.max(1000, minPollingInterval);
+	}
+
+	/**
+	 * Retrieves {@link #adaptivePollingThreshold}
+	 *
+	 * @return value of {@link #adaptivePollingThreshold}
+	 */
+	public double getAdaptivePollingThreshold() {
+		return adaptivePollingThreshold;
+	}
+
+	/**
+	 * Sets {@link #adaptivePollingThreshold} value
+	 *
+	 * @param adaptivePollingThreshold new value of {@link #adaptivePollingThreshold}
+	 */
+	public void setAdaptivePollingThreshold(double adaptivePollingThreshold) {
+		this.adaptivePollingThreshold = Math.max(0, adaptivePollingThreshold);
+	}
+
+	/**
+	 * Retrieves {@link #maxPollingInterval}
+	 *
+	 * @return value of {@link #maxPollingInterval}
+	 */
+	public long getMaxPollingInterval() {
+		return maxPollingInterval;
+	}
+
+	/**
+	 * Sets {@link #maxPollingInterval} value
+	 *
+	 * @param maxPollingInterval new value of {@link #maxPollingInterval}, at least 1000
+	 */
+	public void setMaxPollingInterval(long maxPollingInterval) {
+		this.maxPollingInterval = Math.max(1000, maxPollingInterval);
+	}
+
+	/**
+	 * Retrieves {@link #circuitBreakerThreshold}
+	 *
+	 * @return value of {@link #circuitBreakerThreshold}
+	 */
+	public int getCircuitBreakerThreshold() {
+		return circuitBreakerThreshold;
+	}
+
+	/**
+	 * Sets {@link #circuitBreakerThreshold} value
+	 *
+	 * @param circuitBreakerThreshold new value of {@link #circuitBreakerThreshold}, 0 to disable the circuit breaker
+	 */
+	public void setCircuitBreakerThreshold(int circuitBreakerThreshold) {
+		this.circuitBreakerThreshold = Math.max(0, circuitBreakerThreshold);
+		statisticsLayoutChanged = true;
+	}
+
+	/**
+	 * Retrieves {@link #circuitBreakerMinBackoff}
+	 *
+	 * @return value of {@link #circuitBreakerMinBackoff}
+	 */
+	public long getCircuitBreakerMinBackoff() {
+		return circuitBreakerMinBackoff;
+	}
+
+	/**
+	 * Sets {@link #circuitBreakerMinBackoff} value
+	 *
+	 * @param circuitBreakerMinBackoff new value of {@link #circuitBreakerMinBackoff}, at least 1000
+	 */
+	public void setCircuitBreakerMinBackoff(long circuitBreakerMinBackoff) {
+		this.circuitBreakerMinBackoff = Math.max(1000, circuitBreakerMinBackoff);
+	}
+
+	/**
+	 * Retrieves {@link #circuitBreakerMaxBackoff}
+	 *
+	 * @return value of {@link #circuitBreakerMaxBackoff}
+	 */
+	public long getCircuitBreakerMaxBackoff() {
+		return circuitBreakerMaxBackoff;
+	}
+
+	/**
+	 * Sets {@link #circuitBreakerMaxBackoff} value
+	 *
+	 * @param circuitBreakerMaxBackoff new value of {@link #circuitBreakerMaxBackoff}, at least 1000
+	 */
+	public void setCircuitBreakerMaxBackoff(long circuitBreakerMaxBackoff) {
+		this.circuitBreakerMaxBackoff = Math.max(1000, circuitBreakerMaxBackoff);
+	}
+
+	/**
+	 * Retrieves {@link #deltaStatistics}
+	 *
+	 * @return value of {@link #deltaStatistics}
+	 */
+	public boolean isDeltaStatistics() {
+		return deltaStatistics;
+	}
+
+	/**
+	 * Sets {@link #deltaStatistics} value
+	 *
+	 * @param deltaStatistics new value of {@link #deltaStatistics}
+	 */
+	public void setDeltaStatistics(boolean deltaStatistics) {
+		statisticsLock.lock();
+		try {
+			this.deltaStatistics = deltaStatistics;
+			undeliveredChanges.clear();
+			fullDeliveryRequired = true;
+		} finally {
+			statisticsLock.unlock();
+		}
+	}
+
+	/**
+	 * Constructs a new instance of DataprobeiBootPDUCommunicator.
+	 */
+	public DataprobeiBootPDUCommunicator() throws IOException {
+		analogChannels = new AnalogChannelRegistry(historicalProperties, historicalDeadbands);
+		responseParser = new DeviceResponseParser(outletNames, groupNames, analogChannels, outletStates, groupStates);
+		controlResponseParser = new DeviceResponseParser(new HashMap<>(), new HashMap<>(), new AnalogChannelRegistry(historicalProperties, historicalDeadbands),
+				controlledOutletStates, controlledGroupStates);
+		samplingChannels = new AnalogChannelRegistry(historicalProperties, historicalDeadbands);
+		samplingResponseParser = new DeviceResponseParser(new HashMap<>(), new HashMap<>(), samplingChannels, new HashMap<>(), new HashMap<>(), samplingLock);
+		adapterProperties = new Properties();
+		adapterProperties.load(getClass().getResourceAsStream("/version.properties"));
+		this.setTrustAllCertificates(true);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * The control is queued and sent to the device by the control worker; the new value is shown straight away.
+	 */
+	@Override
+	public void controlProperty(ControllableProperty controllableProperty) throws Exception {
+		if (localExtendedStatistics == null) {
+			return;
+		}
+		String controlProperty = controllableProperty.getProperty();
+		String value = String.valueOf(controllableProperty.getValue());
+		DataprobeControlType controlType = getByDefaultName(controlProperty);
+		if (controlType == null) {
+			throw new IllegalArgumentException(String.format("Unsupported control property %s", controlProperty));
+		}
+		ControlObject controlObject = null;
+		switch (controlType) {
+			case OUTLET:
+				controlObject = handleOutletAndGroupControl(controlProperty, value, DataprobeConstant.OUTLET_COMMAND);
+				break;
+			case GROUP:
+				controlObject = handleOutletAndGroupControl(controlProperty, value, DataprobeConstant.GROUP_COMMAND);
+				break;
+			case SEQUENCE:
+				controlObject = handleSequenceControl(controlProperty);
+				break;
+			case ANALOG_SAMPLING:
+				handleAnalogSamplingControl(controlProperty, value);
+				break;
+		}
+		if (controlObject != null) {
+			if (circuitBreaker.isOpen()) {
+				throw new ResourceNotReachableException(String.format("The device is unreachable, unable to control %s, next attempt in %d s",
+						controlProperty, getNextProbeDelay()));
+			}
+			BlockingQueue<ControlCommand> queue = controlQueue;
+			if (queue == null) {
+				throw new IllegalStateException("The adapter is not initialized, unable to control " + controlProperty);
+			}
+			statisticsLock.lock();
+			try {
+				pendingControls.merge(controlProperty, 1, Integer::sum);
+				if (!queue.offer(new ControlCommand(controlProperty, controlObject))) {
+					releasePendingControl(controlProperty);
+					throw new IllegalStateException(String.format("Control queue is full, unable to control %s", controlProperty));
+				}
+				scheduleControlDrain();
+				ExtendedStatistics extendedStatistics = localExtendedStatistics;
+				if (extendedStatistics != null) {
+					updateValueForTheControllableProperty(controlProperty, value, extendedStatistics.getStatistics(), extendedStatistics.getControllableProperties());
+					publishStatistics();
+				}
+			} finally {
+				statisticsLock.unlock();
+			}
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void controlProperties(List<ControllableProperty> controllableProperties) throws Exception {
+		if (CollectionUtils.isEmpty(controllableProperties)) {
+			throw new IllegalArgumentException("ControllableProperties can not be null or empty");
+		}
+		for (ControllableProperty p : controllableProperties) {
+			try {
+				controlProperty(p);
+			} catch (Exception e) {
+				logger.error(String.format("Error when control property %s", p.getProperty()), e);
+			}
+		}
+	}
+
+	/**
+	 * Drains {@link #controlQueue} on {@link #CONTROL_EXECUTOR}, unless a drain is already scheduled or running
+	 */
+	private void scheduleControlDrain() {
+		if (!controlDrainScheduled.compareAndSet(false, true)) {
+			return;
+		}
+		try {
+			CONTROL_EXECUTOR.execute(this::processControlQueue);
+		} catch (Exception e) {
+			controlDrainScheduled.set(false);
+			logger.error("Queued controls could not be scheduled", e);
+		}
+	}
+
+	/**
+	 * Sends the queued controls to the device until the queue is empty or the adapter is destroyed.
+	 * Outlet controls with the same command queued within {@link #controlBatchWindow} are sent as one request.
+	 * A failed control is logged and invalidates the topology cache, the next poll restores the actual state.
+	 * Failed controls count towards {@link #circuitBreaker}, a control is not sent while the breaker is open.
+	 */
+	private void processControlQueue() {
+		try {
+			drainControlQueue(controlQueue);
+		} finally {
+			controlDrainScheduled.set(false);
+			BlockingQueue<ControlCommand> queue = controlQueue;
+			if (queue != null && !queue.isEmpty()) {
+				scheduleControlDrain();
+			}
+		}
+	}
+
+	/**
+	 * Sends the controls of the given queue, see {@link #processControlQueue()}
+	 *
+	 * @param queue the control queue taken when the drain started
+	 */
+	private void drainControlQueue(BlockingQueue<ControlCommand> queue) {
+		while (queue != null && queue == controlQueue && !Thread.currentThread().isInterrupted()) {
+			ControlCommand first = queue.poll();
+			if (first == null) {
+				return;
+			}
+			List<ControlCommand> batch;
+			try {
+				batch = collectControlBatch(queue, first);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				releasePendingControl(first.getProperty());
+				return;
+			}
+			ControlObject controlObject = batch.size() == 1 ? batch.get(0).getControlObject() : mergeOutletControls(batch);
+			CircuitBreaker breaker = circuitBreaker;
+			boolean allowed = breaker.allowRequest();
+			try {
+				if (!allowed) {
+					throw new ResourceNotReachableException("The device is unreachable, the control was not sent");
+				}
+				checkValidApiToken();
+				sendCommandToControlDevice(controlObject);
+				breaker.recordSuccess();
+			} catch (Exception e) {
+				if (allowed) {
+					breaker.recordFailure();
+				}
+				invalidateTopology();
+				for (ControlCommand command : batch) {
+					releasePendingControl(command.getProperty());
+					logger.error(String.format("Error when control property %s", command.getProperty()), e);
+				}
+				continue;
+			}
+			refreshControlledStates(controlObject, batch);
+			expeditePoll();
+		}
+	}
+
+	/**
+	 * Collects the queued outlet controls that can be sent together with the given control.
+	 * A control joins the batch when it has the same command and no control skipped before it targets the same outlet;
+	 * collecting stops at the first group or sequence control so that the order of the controls is kept.
+	 *
+	 * @param queue the control queue
+	 * @param first the control taken from the queue
+	 * @return the controls to send in one request, starting with {@code first}
+	 * @throws InterruptedException if the worker is interrupted while waiting for the batch window
+	 */
+	private List<ControlCommand> collectControlBatch(BlockingQueue<ControlCommand> queue, ControlCommand first) throws InterruptedException {
+		List<ControlCommand> batch = new ArrayList<>();
+		batch.add(first);
+		if (!isOutletControl(first)) {
+			return batch;
+		}
+		if (controlBatchWindow > 0) {
+			Thread.sleep(controlBatchWindow);
+		}
+		String command = first.getControlObject().getCommand();
+		Set<String> skippedOutlets = new HashSet<>();
+		Iterator<ControlCommand> iterator = queue.iterator();
+		while (iterator.hasNext()) {
+			ControlCommand next = iterator.next();
+			if (!isOutletControl(next)) {
+				break;
+			}
+			List<String> outlets = Arrays.asList(next.getControlObject().getOutlets());
+			if (command.equals(next.getControlObject().getCommand()) && Collections.disjoint(outlets, skippedOutlets)) {
+				batch.add(next);
+				iterator.remove();
+			} else {
+				skippedOutlets.addAll(outlets);
+			}
+		}
+		return batch;
+	}
+
+	/**
+	 * Retrieves the states affected by a control that was sent successfully and patches them into the cached statistics.
+	 * An outlet control refreshes its outlets and the groups; group and sequence controls refresh all outlet and group states.
+	 * The retrieve runs without {@link #reentrantLock}, so a poll is not held up by it. A state is only patched if no poll
+	 * applied a state retrieved after it, and a poll that retrieved its states before the refresh keeps the refreshed states,
+	 * see {@link #resolveState(String, String)}. The controlled properties stay pending until the refreshed states are patched.
+	 * Failures are only logged, the next poll retrieves the states anyway.
+	 *
+	 * @param controlObject the control that was sent
+	 * @param batch the queued controls sent by {@code controlObject}
+	 */
+	private void refreshControlledStates(ControlObject controlObject, List<ControlCommand> batch) {
+		try {
+			DeviceResponse response = null;
+			long sequence = stateRetrieveSequence.incrementAndGet();
+			try {
+				boolean outletControl = DataprobeConstant.OUTLET_COMMAND.equals(controlObject.getControl()) && controlObject.getOutlets() != null;
+				response = doPostWithToken(DataprobeCommand.RETRIEVE_INFO, controlResponseParser, token -> outletControl
+						? requestTemplates.retrieveStates(token, controlObject.getOutlets())
+						: requestTemplates.retrieve(token, Serialisers.RequestTemplates.STATES));
+				if (!response.hasOutlets() && !response.hasGroups()) {
+					logger.debug(String.format("States after control were not retrieved: %s", response.getMessage()));
+					response = null;
+				} else {
+					controlResponseParser.apply(response);
+				}
+			} catch (Exception e) {
+				logger.debug("Unable to refresh the states after control", e);
+			}
+			statisticsLock.lock();
+			try {
+				for (ControlCommand command : batch) {
+					releasePendingControl(command.getProperty());
+				}
+				ExtendedStatistics extendedStatistics = localExtendedStatistics;
+				if (response == null || extendedStatistics == null) {
+					return;
+				}
+				Map<String, String> stats = extendedStatistics.getStatistics();
+				List<AdvancedControllableProperty> controls = extendedStatistics.getControllableProperties();
+				for (Entry<String, String> outlet : controlledOutletStates.entrySet()) {
+					patchRefreshedState(formatOutletName(Integer.parseInt(outlet.getKey())), outlet.getValue(), sequence, stats, controls);
+				}
+				for (Entry<String, String> group : controlledGroupStates.entrySet()) {
+					patchRefreshedState(formatGroupName(group.getKey()), group.getValue(), sequence, stats, controls);
+				}
+				publishStatistics();
+			} finally {
+				statisticsLock.unlock();
+			}
+		} finally {
+			controlledOutletStates.clear();
+			controlledGroupStates.clear();
+		}
+	}
+
+	/**
+	 * Patches a state retrieved after a control, unless a poll already applied a state retrieved later.
+	 * Must be called while holding {@link #statisticsLock}.
+	 *
+	 * @param prefix the property prefix, e.g. "Outlet_1"
+	 * @param state the state reported by the device (e.g., "On", "Off")
+	 * @param sequence the sequence of the retrieve
+	 * @param stats store all statistics
+	 * @param controls the list that stores all controllable properties
+	 */
+	private void patchRefreshedState(String prefix, String state, long sequence, Map<String, String> stats, List<AdvancedControllableProperty> controls) {
+		Long applied = stateSequences.get(prefix);
+		if (applied != null && applied > sequence) {
+			return;
+		}
+		stateSequences.put(prefix, sequence);
+		refreshedStates.put(prefix, state);
+		patchState(prefix, "?".equals(state) ? "No outlets in group" : state, state, stats, controls);
+	}
+
+	/**
+	 * Selects the state of an outlet or group to put in the statistics during a poll: the state patched after a control
+	 * if it was retrieved after the states of the poll, otherwise the state of the poll.
+	 * Must be called while holding {@link #statisticsLock}.
+	 *
+	 * @param prefix the property prefix, e.g. "Outlet_1"
+	 * @param polledState the state retrieved by the poll
+	 * @return the state to put in the statistics
+	 */
+	private String resolveState(String prefix, String polledState) {
+		long sequence = polledStateSequence;
+		String refreshed = refreshedStates.get(prefix);
+		if (refreshed != null && stateSequences.get(prefix) > sequence) {
+			return refreshed;
+		}
+		refreshedStates.remove(prefix);
+		stateSequences.put(prefix, sequence);
+		return polledState;
+	}
+
+	/**
+	 * Updates the status and the On/Off switch of an outlet or group already present in the statistics
+	 *
+	 * @param prefix the property prefix, e.g. "Outlet_1"
+	 * @param status the status to display
+	 * @param state the state reported by the device (e.g., "On", "Off")
+	 * @param stats store all statistics
+	 * @param controls the list that stores all controllable properties
+	 */
+	private void patchState(String prefix, String status, String state, Map<String, String> stats, List<AdvancedControllableProperty> controls) {
+		String statusProperty = prefix + DataprobeConstant.HASH + Outlet.STATUS.getPropertyName();
+		if (!stats.containsKey(statusProperty) || pendingControls.containsKey(prefix + DataprobeConstant.HASH + Outlet.OUTLET_CONTROL.getPropertyName())) {
+			return;
+		}
+		putStatistic(stats, statusProperty, status);
+		populateSwitch(controls, stats, prefix + DataprobeConstant.HASH + Outlet.OUTLET_CONTROL.getPropertyName(), DataprobeConstant.ON.equalsIgnoreCase(state) ? 1 : 0);
+	}
+
+	/**
+	 * Counts down the pending controls of a property, the property is no longer pending once its last queued control was sent
+	 *
+	 * @param property the name of the controllable property
+	 */
+	private void releasePendingControl(String property) {
+		pendingControls.computeIfPresent(property, (name, count) -> count > 1 ? count - 1 : null);
+	}
+
+	/**
+	 * Checks whether a control targets outlets
+	 *
+	 * @param command the queued control
+	 * @return true for an outlet control
+	 */
+	private boolean isOutletControl(ControlCommand command) {
+		return DataprobeConstant.OUTLET_COMMAND.equals(command.getControlObject().getControl()) && command.getControlObject().getOutlets() != null;
+	}
+
+	/**
+	 * Merges outlet controls sharing the same command into a single request
+	 *
+	 * @param batch the controls collected by {@link #collectControlBatch(BlockingQueue, ControlCommand)}
+	 * @return a {@link ControlObject} targeting all outlets of the batch
+	 */
+	private ControlObject mergeOutletControls(List<ControlCommand> batch) {
+		Set<String> outlets = new LinkedHashSet<>();
+		for (ControlCommand command : batch) {
+			outlets.addAll(Arrays.asList(command.getControlObject().getOutlets()));
+		}
+		return new ControlObject(DataprobeConstant.OUTLET_COMMAND, batch.get(0).getControlObject().getCommand(),
+				outlets.toArray(new String[0]), null, null);
+	}
+
+	/**
+	 * Authenticates the user by sending a login request and retrieves the token.
+	 *
+	 * @throws Exception if an error occurs during the login process.
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void authenticate() throws Exception {
+		String jsonPayload = String.format(DataprobeConstant.AUTHENTICATION_PARAM, this.getLogin(), this.getPassword());
+		synchronized (authenticationLock) {
+			long startTime = System.nanoTime();
+			try {
+				String result = this.doPost(DataprobeCommand.API_LOGIN, jsonPayload);
+				phaseMetrics.recordPayload(jsonPayload, result);
+				JsonNode response = objectMapper.readTree(result);
+				if (response.has("success")) {
+					if (response.at(DataprobeConstant.RESPONSE_SUCCESS).asBoolean()) {
+						loginInfo.updateToken(response.at("/token").asText());
+					} else {
+						loginInfo.invalidate();
+						throw new FailedLoginException(response.at(DataprobeConstant.RESPONSE_MESSAGE).asText());
+					}
+				}
+			} catch (Exception e) {
+				phaseMetrics.recordError(PollPhase.AUTHENTICATION);
+				throw new FailedLoginException("Auth error when get token api" + e);
+			} finally {
+				phaseMetrics.record(PollPhase.AUTHENTICATION, startTime);
+			}
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * The client of the template is wrapped once so that {@link #connectionMetrics} can tell new connections from reused ones.
+	 * The client cannot be reached when the template has request interceptors, i.e. with compression enabled, the connections are not counted then.
+	 */
+	@Override
+	protected RestTemplate obtainRestTemplate() throws Exception {
+		RestTemplate restTemplate = super.obtainRestTemplate();
+		if (restTemplate == instrumentedRestTemplate) {
+			return restTemplate;
+		}
+		synchronized (connectionMetrics) {
+			if (restTemplate != instrumentedRestTemplate) {
+				ClientHttpRequestFactory requestFactory = restTemplate.getRequestFactory();
+				if (requestFactory instanceof HttpComponentsClientHttpRequestFactory
+						&& ((HttpComponentsClientHttpRequestFactory) requestFactory).getHttpClient() instanceof CloseableHttpClient) {
+					HttpComponentsClientHttpRequestFactory factory = (HttpComponentsClientHttpRequestFactory) requestFactory;
+					factory.setHttpClient(connectionMetrics.instrument((CloseableHttpClient) factory.getHttpClient()));
+				} else if (logger.isDebugEnabled()) {
+					logger.debug("The HTTP connections are not counted, the client of the template cannot be instrumented");
+				}
+				instrumentedRestTemplate = restTemplate;
+			}
+		}
+		return restTemplate;
+	}
+
+	/**
+	 * Registers {@link #phaseMetrics} on the platform MBean server, a failure is only logged
+	 */
+	private void registerPhaseMetrics() {
+		try {
+			ObjectName objectName = new ObjectName(String.format("%s:type=DataprobeiBootPDU,host=%s,id=%d", getClass().getPackage().getName(),
+					ObjectName.quote(String.valueOf(getHost())), System.identityHashCode(this)));
+			ManagementFactory.getPlatformMBeanServer().registerMBean(phaseMetrics, objectName);
+			jmxObjectName = objectName;
+		} catch (Exception e) {
+			logger.warn("Unable to register the metrics MBean", e);
+		}
+	}
+
+	/**
+	 * Unregisters {@link #phaseMetrics} from the platform MBean server
+	 */
+	private void unregisterPhaseMetrics() {
+		ObjectName objectName = jmxObjectName;
+		jmxObjectName = null;
+		if (objectName == null) {
+			return;
+		}
+		try {
+			ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+		} catch (Exception e) {
+			logger.debug("Unable to unregister the metrics MBean", e);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * With {@link #backgroundPolling} the latest published statistics are returned without contacting the device,
+	 * the device is only polled here until the first statistics are available.
+	 * Otherwise the device is polled, unless another poll is in flight, in which case the latest published statistics are returned straight away.
+	 * With {@link #deltaStatistics} only the properties changed since the previous call are returned, see {@link #deliverStatistics()}.
+	 */
+	@Override
+	public List<Statistics> getMultipleStatistics() throws Exception {
+		if (publishedStatistics.get() == null) {
+			pollDevice();
+			return deliverStatistics();
+		}
+		if (pollingExecutor != null) {
+			Exception error = pollingError;
+			if (error != null) {
+				throw error;
+			}
+			return deliverStatistics();
+		}
+		if (!reentrantLock.tryLock()) {
+			return deliverStatistics();
+		}
+		try {
+			pollDevice();
+		} finally {
+			reentrantLock.unlock();
+		}
+		return deliverStatistics();
+	}
+
+	/**
+	 * Returns the published statistics, or in delta mode the part of them changed since the previous call.
+	 * A delta holds the changed statistics, dynamic statistics and controllable properties; when nothing changed it only
+	 * holds {@link DataprobeConstant#STATISTICS_UNCHANGED}. The metrics are added to the first delta after they were refreshed.
+	 * The full statistics are returned after they were rebuilt or when a property was removed, e.g. the age of stale data
+	 * once the data is fresh again, since a delta cannot express removed properties.
+	 *
+	 * @return the statistics to return to the platform
+	 */
+	private List<Statistics> deliverStatistics() {
+		if (!deltaStatistics) {
+			return Collections.singletonList(publishedStatistics.get());
+		}
+		statisticsLock.lock();
+		try {
+			ExtendedStatistics published = publishedStatistics.get();
+			ExtendedStatistics delivered = deliveredStatistics;
+			deliveredStatistics = published;
+			if (published == null || fullDeliveryRequired || hasRemovedStatistics(delivered, published)) {
+				fullDeliveryRequired = published == null;
+				undeliveredChanges.clear();
+				metricsUndelivered = false;
+				return Collections.singletonList(published);
+			}
+			ExtendedStatistics delta = new ExtendedStatistics();
+			Map<String, String> stats = new HashMap<>();
+			Map<String, String> dynamicStatistics = new HashMap<>();
+			List<AdvancedControllableProperty> controls = new ArrayList<>();
+			if (undeliveredChanges.isEmpty() && !metricsUndelivered) {
+				stats.put(DataprobeConstant.STATISTICS_UNCHANGED, DataprobeConstant.TRUE);
+			}
+			if (metricsUndelivered) {
+				stats.putAll(publishedMetrics);
+				metricsUndelivered = false;
+			}
+			for (String name : undeliveredChanges) {
+				String value = published.getStatistics().get(name);
+				if (value != null) {
+					stats.put(name, value);
+				}
+				value = published.getDynamicStatistics().get(name);
+				if (value != null) {
+					dynamicStatistics.put(name, value);
+				}
+			}
+			for (AdvancedControllableProperty property : published.getControllableProperties()) {
+				if (undeliveredChanges.contains(property.getName())) {
+					controls.add(property);
+				}
+			}
+			undeliveredChanges.clear();
+			delta.setStatistics(stats);
+			delta.setDynamicStatistics(dynamicStatistics);
+			delta.setControllableProperties(controls);
+			return Collections.singletonList(delta);
+		} finally {
+			statisticsLock.unlock();
+		}
+	}
+
+	/**
+	 * Checks whether a property changed since the last delivery was removed from the statistics.
+	 * The historical properties are left out, a delta without them only means no point is stored.
+	 * Must be called while holding {@link #statisticsLock}.
+	 *
+	 * @param delivered the statistics returned by the last call, null if there was none
+	 * @param published the statistics to return
+	 * @return true if an undelivered change removed a property
+	 */
+	private boolean hasRemovedStatistics(ExtendedStatistics delivered, ExtendedStatistics published) {
+		if (delivered == null) {
+			return false;
+		}
+		for (String name : undeliveredChanges) {
+			if (delivered.getStatistics().containsKey(name) && !published.getStatistics().containsKey(name)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Runs a background poll and schedules the next one after {@link #pollingInterval}, or the adaptive interval, plus a random jitter
+	 */
+	private void runBackgroundPoll() {
+		synchronized (pollingScheduleLock) {
+			nextPoll = null;
+		}
+		long startTime = System.currentTimeMillis();
+		try {
+			pollDevice();
+			pollingError = null;
+		} catch (Exception e) {
+			pollingError = e;
+			logger.error("Error when polling the device in background", e);
+		} finally {
+			AdaptivePollingInterval adaptiveInterval = adaptivePollingInterval;
+			long interval = pollingInterval;
+			if (adaptiveInterval != null) {
+				boolean changed = deviceStateChanged.getAndSet(false);
+				interval = adaptiveInterval.next(controlSentSinceLastPoll.getAndSet(false) || changed, System.currentTimeMillis() - startTime);
+			}
+			long jitter = pollingJitter > 0 ? ThreadLocalRandom.current().nextLong(pollingJitter + 1) : 0;
+			schedulePoll(interval + jitter);
+		}
+	}
+
+	/**
+	 * Schedules the next background poll
+	 *
+	 * @param delay the delay in milliseconds
+	 */
+	private void schedulePoll(long delay) {
+		synchronized (pollingScheduleLock) {
+			ScheduledExecutorService executor = pollingExecutor;
+			if (executor != null && !executor.isShutdown()) {
+				nextPoll = executor.schedule(this::runBackgroundPoll, delay, TimeUnit.MILLISECONDS);
+			}
+		}
+	}
+
+	/**
+	 * Brings the next background poll forward to {@link #minPollingInterval} after a control when the polling is adaptive
+	 */
+	private void expeditePoll() {
+		if (adaptivePollingInterval == null) {
+			return;
+		}
+		controlSentSinceLastPoll.set(true);
+		synchronized (pollingScheduleLock) {
+			if (nextPoll != null && nextPoll.getDelay(TimeUnit.MILLISECONDS) > minPollingInterval && nextPoll.cancel(false)) {
+				nextPoll = null;
+				schedulePoll(minPollingInterval);
+			}
+		}
+	}
+
+	/**
+	 * Retrieves the device data and publishes the updated statistics.
+	 * When the poll fails, or while {@link #circuitBreaker} is open and the device is not contacted, the last statistics
+	 * are published again, marked as stale, see {@link #publishStaleStatistics(Exception)}.
+	 *
+	 * @throws Exception if the device cannot be polled and there are no statistics to fall back on
+	 */
+	private void pollDevice() throws Exception {
+		reentrantLock.lock();
+		try {
+			CircuitBreaker breaker = circuitBreaker;
+			if (!breaker.allowRequest()) {
+				publishStaleStatistics(null);
+				return;
+			}
+			try {
+				checkValidApiToken();
+				retrieveDeviceData();
+			} catch (Exception e) {
+				breaker.recordFailure();
+				monitoringStale = true;
+				statesStale = true;
+				publishStaleStatistics(e);
+				return;
+			}
+			breaker.recordSuccess();
+			statisticsLock.lock();
+			long startTime = System.nanoTime();
+			try {
+				if (isStatisticsLayoutOutdated()) {
+					resetLocalExtendedStatistics();
+				}
+				Map<String, String> stats = localExtendedStatistics.getStatistics();
+				List<AdvancedControllableProperty> advancedControllableProperties = localExtendedStatistics.getControllableProperties();
+
+				detectStateChanges();
+				populateOutletName(stats, advancedControllableProperties);
+				populateGroupName(stats, advancedControllableProperties);
+				populateSequenceStates(stats, advancedControllableProperties);
+				if (monitoringStale) {
+					removeHistoricalAnalogData(localExtendedStatistics.getDynamicStatistics());
+				} else {
+					populateAnalogData(stats, localExtendedStatistics.getDynamicStatistics());
+				}
+				populateAnalogSampling(stats, advancedControllableProperties);
+				populateDeviceAvailability(stats);
+				publishStatistics();
+			} finally {
+				phaseMetrics.record(PollPhase.STATISTICS_BUILD, startTime);
+				statisticsLock.unlock();
+			}
+		} finally {
+			reentrantLock.unlock();
+		}
+	}
+
+	/**
+	 * Publishes the last statistics retrieved from the device with the state of {@link #circuitBreaker}, the age of the data
+	 * and the stale markers, without contacting the device
+	 *
+	 * @param cause the error of the failed poll, null if no request was sent
+	 * @throws Exception the cause, or a {@link ResourceNotReachableException}, if no statistics were retrieved yet
+	 */
+	private void publishStaleStatistics(Exception cause) throws Exception {
+		statisticsLock.lock();
+		try {
+			if (localExtendedStatistics == null || publishedStatistics.get() == null) {
+				if (cause != null) {
+					throw cause;
+				}
+				throw new ResourceNotReachableException(String.format("The device is unreachable after %d consecutive failures, next attempt in %d s",
+						circuitBreaker.getConsecutiveFailures(), getNextProbeDelay()));
+			}
+			removeHistoricalAnalogData(localExtendedStatistics.getDynamicStatistics());
+			populateDeviceAvailability(localExtendedStatistics.getStatistics());
+			publishStatistics();
+		} finally {
+			statisticsLock.unlock();
+		}
+		if (cause != null) {
+			logger.warn(String.format("The device is unreachable, serving the statistics retrieved %d s ago", getDataAge()), cause);
+		}
+	}
+
+	/**
+	 * Populates the state of {@link #circuitBreaker} and whether the statistics are stale, e.g. "DeviceAvailability#Stale",
+	 * then whether the monitoring data and the states are stale, e.g. "DeviceAvailability#StatesStale".
+	 * The statistics are stale while the breaker is open or when the last poll failed altogether.
+	 * The ages of the data are only shown while the data is stale, the delay before the next attempt while the breaker is open.
+	 * The circuit breaker properties are not shown when {@link #circuitBreakerThreshold} is 0.
+	 *
+	 * @param stats store all statistics
+	 */
+	private void populateDeviceAvailability(Map<String, String> stats) {
+		String prefix = DeviceAvailability.GROUP + DataprobeConstant.HASH;
+		boolean unreachable = false;
+		if (circuitBreakerThreshold > 0) {
+			CircuitBreaker breaker = circuitBreaker;
+			unreachable = breaker.isOpen() || (monitoringStale && statesStale);
+			putStatistic(stats, prefix + DeviceAvailability.CIRCUIT_STATE.getPropertyName(), breaker.getState().getName());
+			putStatistic(stats, prefix + DeviceAvailability.CONSECUTIVE_FAILURES.getPropertyName(), breaker.getConsecutiveFailures());
+			putStatistic(stats, prefix + DeviceAvailability.STALE.getPropertyName(), unreachable);
+			populateStaleness(stats, prefix + DeviceAvailability.DATA_AGE.getPropertyName(), unreachable,
+					Math.min(monitoringRetrieveTime, stateRetrieveTime));
+			if (breaker.isOpen()) {
+				putStatistic(stats, prefix + DeviceAvailability.NEXT_PROBE.getPropertyName(), getNextProbeDelay());
+			} else {
+				removeStatistic(stats, prefix + DeviceAvailability.NEXT_PROBE.getPropertyName());
+			}
+		}
+		boolean stale = unreachable || monitoringStale;
+		putStatistic(stats, prefix + DeviceAvailability.MONITORING_STALE.getPropertyName(), stale);
+		populateStaleness(stats, prefix + DeviceAvailability.MONITORING_DATA_AGE.getPropertyName(), stale, monitoringRetrieveTime);
+		stale = unreachable || statesStale;
+		putStatistic(stats, prefix + DeviceAvailability.STATES_STALE.getPropertyName(), stale);
+		populateStaleness(stats, prefix + DeviceAvailability.STATES_DATA_AGE.getPropertyName(), stale, stateRetrieveTime);
+	}
+
+	/**
+	 * Populates the age of stale data, or removes it once the data is fresh again
+	 *
+	 * @param stats store all statistics
+	 * @param name the name of the age property
+	 * @param stale whether the data is stale
+	 * @param retrieveTime the time the data was last retrieved
+	 */
+	private void populateStaleness(Map<String, String> stats, String name, boolean stale, long retrieveTime) {
+		if (stale) {
+			putStatistic(stats, name, (System.currentTimeMillis() - retrieveTime) / 1000);
+		} else {
+			removeStatistic(stats, name);
+		}
+	}
+
+	/**
+	 * Removes the historical analog properties from the dynamic statistics while the readings are stale, so that old readings
+	 * are not stored again. The reported values are reset so the properties come back with the next readings.
+	 *
+	 * @param dynamicStatistics store analog to db
+	 */
+	private void removeHistoricalAnalogData(Map<String, String> dynamicStatistics) {
+		for (int i = 0; i < analogChannels.size(); i++) {
+			String propertyName = analogChannels.getPropertyName(i);
+			if (dynamicStatistics.remove(propertyName) != null) {
+				analogChannels.setReportedValue(i, Double.NaN, 0);
+				changedProperties.add(propertyName);
+			}
+		}
+	}
+
+	/**
+	 * Retrieves the delay before {@link #circuitBreaker} lets the next request through
+	 *
+	 * @return the delay in seconds, 0 if a request is allowed now
+	 */
+	private long getNextProbeDelay() {
+		long probeTime = circuitBreaker.getProbeTime();
+		return probeTime == 0 ? 0 : Math.max(0, (probeTime - System.currentTimeMillis()) / 1000);
+	}
+
+	/**
+	 * Retrieves the time elapsed since the oldest part of the device data was retrieved
+	 *
+	 * @return the age in seconds
+	 */
+	private long getDataAge() {
+		return (System.currentTimeMillis() - Math.min(monitoringRetrieveTime, stateRetrieveTime)) / 1000;
+	}
+
+	/**
+	 * Publishes a copy of {@link #localExtendedStatistics} to {@link #publishedStatistics} if properties changed since the last publication,
+	 * or if the metrics are older than {@link DataprobeConstant#METRICS_PUBLISH_INTERVAL}.
+	 * The metrics change with every request, so they are only written into the copy and are not tracked as changed properties.
+	 * The maps are copied; the controllable properties are shared since they are replaced rather than modified.
+	 * Must be called while holding {@link #statisticsLock}.
+	 */
+	private void publishStatistics() {
+		ExtendedStatistics extendedStatistics = localExtendedStatistics;
+		if (extendedStatistics == null) {
+			return;
+		}
+		long now = System.currentTimeMillis();
+		boolean metricsOutdated = now - metricsPublishedTime >= DataprobeConstant.METRICS_PUBLISH_INTERVAL;
+		if (changedProperties.isEmpty() && publishedStatistics.get() != null && !metricsOutdated) {
+			return;
+		}
+		Map<String, String> metrics = new HashMap<>();
+		populateConnectionMetrics(metrics);
+		populatePhaseMetrics(metrics);
+		publishedMetrics = metrics;
+		metricsPublishedTime = now;
+		metricsUndelivered = true;
+		Map<String, String> stats = new HashMap<>(extendedStatistics.getStatistics());
+		stats.putAll(metrics);
+		ExtendedStatistics snapshot = new ExtendedStatistics();
+		snapshot.setStatistics(Collections.unmodifiableMap(stats));
+		snapshot.setDynamicStatistics(Collections.unmodifiableMap(new HashMap<>(extendedStatistics.getDynamicStatistics())));
+		snapshot.setControllableProperties(Collections.unmodifiableList(new ArrayList<>(extendedStatistics.getControllableProperties())));
+		if (deltaStatistics) {
+			undeliveredChanges.addAll(changedProperties);
+		}
+		changedProperties.clear();
+		publishedStatistics.set(snapshot);
+	}
+
+	/**
+	 * Populates the counters of {@link #connectionMetrics}, e.g. "HttpConnection#ConnectionsReused"
+	 *
+	 * @param stats store the metrics
+	 */
+	private void populateConnectionMetrics(Map<String, String> stats) {
+		String prefix = HttpConnection.GROUP + DataprobeConstant.HASH;
+		stats.put(prefix + HttpConnection.REQUESTS.getPropertyName(), String.valueOf(connectionMetrics.getRequests()));
+		stats.put(prefix + HttpConnection.CONNECTIONS_CREATED.getPropertyName(), String.valueOf(connectionMetrics.getCreatedConnections()));
+		stats.put(prefix + HttpConnection.CONNECTIONS_REUSED.getPropertyName(), String.valueOf(connectionMetrics.getReusedConnections()));
+		stats.put(prefix + HttpConnection.TLS_FULL_HANDSHAKES.getPropertyName(), String.valueOf(connectionMetrics.getFullHandshakes()));
+		stats.put(prefix + HttpConnection.TLS_RESUMED_HANDSHAKES.getPropertyName(), String.valueOf(connectionMetrics.getResumedHandshakes()));
+	}
+
+	/**
+	 * Populates the counters of {@link #phaseMetrics}, e.g. "Performance#StateRetrieveAvgMs"
+	 *
+	 * @param stats store the metrics
+	 */
+	private void populatePhaseMetrics(Map<String, String> stats) {
+		for (Entry<String, Long> metric : phaseMetrics.snapshot().entrySet()) {
+			stats.put(PollPhase.GROUP + DataprobeConstant.HASH + metric.getKey(), String.valueOf(metric.getValue()));
+		}
+	}
+
+	/**
+	 * Replaces {@link #localExtendedStatistics} with an empty instance and drops the cached controllable properties
+	 */
+	private void resetLocalExtendedStatistics() {
+		ExtendedStatistics extendedStatistics = new ExtendedStatistics();
+		extendedStatistics.setStatistics(new HashMap<>());
+		extendedStatistics.setDynamicStatistics(new HashMap<>());
+		extendedStatistics.setControllableProperties(new ArrayList<>());
+		controllablePropertyIndex.clear();
+		layoutOutletIds.clear();
+		layoutOutletIds.addAll(outletNames.keySet());
+		layoutGroupNames.clear();
+		layoutGroupNames.addAll(groupNames.values());
+		statisticsLayoutChanged = false;
+		analogChannels.clearReported();
+		reportedStatistics.clear();
+		fullDeliveryRequired = true;
+		localExtendedStatistics = extendedStatistics;
+	}
+
+	/**
+	 * Checks whether {@link #localExtendedStatistics} has to be rebuilt because the set of statistics changed
+	 *
+	 * @return true if there are no statistics yet, the configuration changed or the outlets/groups differ from the cached layout
+	 */
+	private boolean isStatisticsLayoutOutdated() {
+		return localExtendedStatistics == null || statisticsLayoutChanged || !layoutOutletIds.equals(outletNames.keySet())
+				|| layoutGroupNames.size() != groupNames.size() || !layoutGroupNames.containsAll(groupNames.values());
+	}
+
+	/**
+	 * Populate group name
+	 *
+	 * @param stats to store group name
+	 * @param advancedControllableProperties to handle control for group name
+	 */
+	private void populateGroupName(Map<String, String> stats, List<AdvancedControllableProperty> advancedControllableProperties) {
+		for (Entry<String, String> item : groupNames.entrySet()) {
+			String value = item.getValue();
+			createGroupStats(value, resolveState(formatGroupName(value), groupStates.get(value)), stats, advancedControllableProperties);
+		}
+	}
+
+	/**
+	 * Populate outlet name
+	 *
+	 * @param stats to store outlet name
+	 * @param advancedControllableProperties to handle control for outlet name
+	 */
+	private void populateOutletName(Map<String, String> stats, List<AdvancedControllableProperty> advancedControllableProperties) {
+		for (Entry<String, String> item : outletNames.entrySet()) {
+			String key = item.getKey();
+			String value = item.getValue();
+			int number = Integer.parseInt(key);
+			createOutletStats(number, value, resolveState(formatOutletName(number), outletStates.get(key)), stats, advancedControllableProperties);
+		}
+	}
+
+	/**
+	 * Sets {@link #deviceStateChanged} when an outlet or group state differs from the previous poll
+	 */
+	private void detectStateChanges() {
+		if (!statesStale && (!outletStates.equals(polledOutletStates) || !groupStates.equals(polledGroupStates))) {
+			deviceStateChanged.set(true);
+			polledOutletStates.clear();
+			polledOutletStates.putAll(outletStates);
+			polledGroupStates.clear();
+			polledGroupStates.putAll(groupStates);
+		}
+	}
+
+	/**
+	 * Populate analog data
+	 * A historical property with a deadband is only put in the dynamic statistics of the polls where it moved out of
+	 * its deadband or {@link #historicalHeartbeat} elapsed, and is left out of the others.
+	 *
+	 * @param stats store analog to display UI
+	 * @param dynamicStatistics store analog to db
+	 */
+	private void populateAnalogData(Map<String, String> stats, Map<String, String> dynamicStatistics) {
+		long now = System.currentTimeMillis();
+		for (int i = 0; i < analogChannels.size(); i++) {
+			String propertyName = analogChannels.getPropertyName(i);
+			double reported = analogChannels.getReportedValue(i);
+			if (!analogChannels.isPresent(i) || analogChannels.getRawValue(i) >= DataprobeConstant.MAXIMUM_CURRENT_VALUE) {
+				analogChannels.clearBaseline(i);
+				if (!Double.isNaN(reported)) {
+					stats.remove(propertyName);
+					dynamicStatistics.remove(propertyName);
+					analogChannels.setReportedValue(i, Double.NaN, 0);
+					changedProperties.add(propertyName);
+				}
+				continue;
+			}
+			if (analogChannels.moved(i, adaptivePollingThreshold)) {
+				deviceStateChanged.set(true);
+			}
+			double value = analogChannels.getValue(i);
+			if (aggregateWindows.length > 0) {
+				analogAggregator.add(i, now, value);
+			}
+			boolean historical = analogChannels.isHistorical(i);
+			if (historical && analogChannels.hasDeadband(i)) {
+				if (!analogChannels.exceedsDeadband(i, value) && now - analogChannels.getReportedTime(i) < historicalHeartbeat * 1000) {
+					if (dynamicStatistics.remove(propertyName) != null) {
+						changedProperties.add(propertyName);
+					}
+					continue;
+				}
+			} else if (value == reported) {
+				continue;
+			}
+			if (historical) {
+				dynamicStatistics.put(propertyName, analogChannels.format(i, value));
+			} else {
+				stats.put(propertyName, analogChannels.format(i, value));
+			}
+			analogChannels.setReportedValue(i, value, now);
+			changedProperties.add(propertyName);
+		}
+		populateAnalogAggregates(stats, now);
+	}
+
+	/**
+	 * Populates the minimum, maximum and average of every analog property over each window of {@link #analogAggregateWindows}.
+	 * An aggregate without reading in its window is removed.
+	 *
+	 * @param stats store analog aggregates to display UI
+	 * @param now the time of the poll
+	 */
+	private void populateAnalogAggregates(Map<String, String> stats, long now) {
+		long[] windows = aggregateWindows;
+		String[] labels = aggregateLabels;
+		for (int i = 0; i < analogChannels.size(); i++) {
+			String propertyName = analogChannels.getPropertyName(i);
+			for (int w = 0; w < windows.length; w++) {
+				String min = propertyName + DataprobeConstant.HASH + "Min" + labels[w];
+				String max = propertyName + DataprobeConstant.HASH + "Max" + labels[w];
+				String average = propertyName + DataprobeConstant.HASH + "Avg" + labels[w];
+				if (analogAggregator.aggregate(i, now - windows[w], aggregateResult)) {
+					putStatistic(stats, min, analogChannels, i, aggregateResult[AnalogAggregator.MIN]);
+					putStatistic(stats, max, analogChannels, i, aggregateResult[AnalogAggregator.MAX]);
+					putStatistic(stats, average, analogChannels, i, aggregateResult[AnalogAggregator.AVERAGE]);
+				} else if (stats.remove(min) != null) {
+					stats.remove(max);
+					stats.remove(average);
+					changedProperties.add(min);
+					changedProperties.add(max);
+					changedProperties.add(average);
+				}
+			}
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void internalInit() throws Exception {
+		if (logger.isDebugEnabled()) {
+			logger.debug("Internal init is called.");
+		}
+		circuitBreaker = new CircuitBreaker(circuitBreakerThreshold, circuitBreakerMinBackoff, circuitBreakerMaxBackoff);
+		controlQueue = new ArrayBlockingQueue<>(controlQueueSize);
+		if (getMaxConnectionsPerRoute() <= 0) {
+			setMaxConnectionsPerRoute(DataprobeConstant.DEFAULT_MAX_CONNECTIONS);
+		}
+		if (getMaxConnectionsTotal() <= 0) {
+			setMaxConnectionsTotal(DataprobeConstant.DEFAULT_MAX_CONNECTIONS);
+		}
+		super.internalInit();
+		if (jmxMetrics) {
+			registerPhaseMetrics();
+		}
+		if (backgroundPolling) {
+			ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+				Thread thread = new Thread(runnable, "Dataprobe poller");
+				thread.setDaemon(true);
+				return thread;
+			});
+			adaptivePollingInterval = adaptivePolling ? new AdaptivePollingInterval(minPollingInterval, maxPollingInterval) : null;
+			pollingExecutor = executor;
+			// the first statistics are polled by getMultipleStatistics, the communicator is only initialized once this method returns
+			schedulePoll(adaptivePolling ? minPollingInterval : pollingInterval);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void internalDestroy() {
+		if (logger.isDebugEnabled()) {
+			logger.debug("Internal destroy is called.");
+		}
+		stopAnalogSampling();
+		ScheduledExecutorService executor = pollingExecutor;
+		pollingExecutor = null;
+		if (executor != null) {
+			executor.shutdownNow();
+		}
+		pollingError = null;
+		adaptivePollingInterval = null;
+		monitoringRetrieveTime = 0;
+		stateRetrieveTime = 0;
+		monitoringStale = false;
+		statesStale = false;
+		controlSentSinceLastPoll.set(false);
+		deviceStateChanged.set(false);
+		statisticsLock.lock();
+		try {
+			localExtendedStatistics = null;
+			publishedStatistics.set(null);
+			deliveredStatistics = null;
+			publishedMetrics = Collections.emptyMap();
+			polledOutletStates.clear();
+			polledGroupStates.clear();
+			stateSequences.clear();
+			refreshedStates.clear();
+			metricsPublishedTime = 0;
+			controllablePropertyIndex.clear();
+			analogAggregator.clear();
+		} finally {
+			statisticsLock.unlock();
+		}
+		tokenRefreshInProgress.set(false);
+		controlQueue = null;
+		pendingControls.clear();
+		loginInfo.invalidate();
+		combinedRetrieveSupported = true;
+		invalidateTopology();
+		unregisterPhaseMetrics();
+		super.internalDestroy();
+	}
+
+	/**
+	 * Check API token validation
+	 * If the token expires, we send a request to get a new token.
+	 * If the token is still valid but close to expiry, a new one is requested in the background.
+	 */
+	private void checkValidApiToken() throws Exception {
+		if (StringUtils.isNullOrEmpty(this.getLogin()) || StringUtils.isNullOrEmpty(this.getPassword())) {
+			throw new FailedLoginException("Username or Password field is empty. Please check device credentials");
+		}
+		if (this.loginInfo.isTimeout()) {
+			synchronized (authenticationLock) {
+				if (this.loginInfo.isTimeout()) {
+					authenticate();
+				}
+			}
+		} else if (this.loginInfo.isRefreshDue()) {
+			scheduleTokenRefresh();
+		}
+	}
+
+	/**
+	 * Requests a new token on the background executor, unless a refresh is already in progress
 	 */
-	@Override
-	protected void authenticate() throws Exception {
-		String jsonPayload = String.format(DataprobeConstant.AUTHENTICATION_PARAM, this.getLogin(), this.getPassword());
+	private void scheduleTokenRefresh() {
+		if (!tokenRefreshInProgress.compareAndSet(false, true)) {
+			return;
+		}
 		try {
-			String result = this.doPost(DataprobeCommand.API_LOGIN, jsonPayload);
-			JsonNode response = objectMapper.readTree(result);
-			if (response.has("success")) {
-				if (response.at(DataprobeConstant.RESPONSE_SUCCESS).asBoolean()) {
-					String token = response.at("/token").asText();
-					if (loginInfo == null) {
-						loginInfo = new LoginInfo();
+			TOKEN_REFRESH_EXECUTOR.execute(() -> {
+				try {
+					if (isInitialized()) {
+						authenticate();
 					}
-					loginInfo.setToken(token);
-				} else {
-					loginInfo = null;
-					throw new FailedLoginException(response.at(DataprobeConstant.RESPONSE_MESSAGE).asText());
+				} catch (Exception e) {
+					logger.warn("Unable to refresh the token in the background, it will be renewed on the next request", e);
+				} finally {
+					tokenRefreshInProgress.set(false);
 				}
-			}
+			});
 		} catch (Exception e) {
-			throw new FailedLoginException("Auth error when get token api" + e);
+			tokenRefreshInProgress.set(false);
+			logger.debug("Token refresh could not be scheduled", e);
 		}
 	}
 
 	/**
-	 * {@inheritDoc}
+	 * Creates an executor shared by all adapter instances, a bounded pool of daemon threads that time out when no task is running
+	 *
+	 * @param threadName the name of the threads, followed by their number
+	 * @param threads the maximum number of threads
+	 * @param keepAlive the time in milliseconds an idle thread is kept
+	 * @return the executor
 	 */
-	@Override
-	public List<Statistics> getMultipleStatistics() throws Exception {
-		reentrantLock.lock();
-		try {
-			if (loginInfo == null) {
-				loginInfo = new LoginInfo();
-			}
-			checkValidApiToken();
-			Map<String, String> stats = new HashMap<>();
-			Map<String, String> dynamicStatistics = new HashMap<>();
-			ExtendedStatistics extendedStatistics = new ExtendedStatistics();
-			List<AdvancedControllableProperty> advancedControllableProperties = new ArrayList<>();
-
-			if (!isEmergencyDelivery) {
-				retrieveMonitoringData();
-				retrieveControllingState();
+	private static ThreadPoolExecutor createSharedExecutor(String threadName, int threads, long keepAlive) {
+		AtomicInteger threadCount = new AtomicInteger();
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, keepAlive, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), runnable -> {
+			Thread thread = new Thread(runnable, threadName + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
 
-				populateOutletName(stats, advancedControllableProperties);
-				populateGroupName(stats, advancedControllableProperties);
-				populateSequenceStates(stats, advancedControllableProperties);
-				populateAnalogData(stats, dynamicStatistics);
+	/**
+	 * Sends a request that carries the token, re-authenticating and retrying once when the device reports the token is invalid.
+	 * The response is decoded by {@link #responseParser}.
+	 *
+	 * @param uri the device endpoint
+	 * @param payloadBuilder builds the request body for the given token
+	 * @return the decoded device response
+	 * @throws Exception if the request fails
+	 */
+	private DeviceResponse doPostWithToken(String uri, PayloadBuilder payloadBuilder) throws Exception {
+		return doPostWithToken(uri, responseParser, payloadBuilder);
+	}
 
-				extendedStatistics.setStatistics(stats);
-				extendedStatistics.setDynamicStatistics(dynamicStatistics);
-				extendedStatistics.setControllableProperties(advancedControllableProperties);
-				localExtendedStatistics = extendedStatistics;
+	/**
+	 * Sends a request that carries the token, re-authenticating and retrying once when the device reports the token is invalid.
+	 *
+	 * @param uri the device endpoint
+	 * @param parser the decoder receiving the response
+	 * @param payloadBuilder builds the request body for the given token
+	 * @return the decoded device response
+	 * @throws Exception if the request fails
+	 */
+	private DeviceResponse doPostWithToken(String uri, DeviceResponseParser parser, PayloadBuilder payloadBuilder) throws Exception {
+		String token = loginInfo.getToken();
+		DeviceResponse response = postAndParse(uri, payloadBuilder.build(token), parser);
+		if (response.isInvalidToken()) {
+			synchronized (authenticationLock) {
+				if (token != null && token.equals(loginInfo.getToken())) {
+					loginInfo.invalidate();
+				}
 			}
-			isEmergencyDelivery = false;
-		} finally {
-			reentrantLock.unlock();
+			if (loginInfo.isTimeout()) {
+				authenticate();
+			}
+			response = postAndParse(uri, payloadBuilder.build(loginInfo.getToken()), parser);
 		}
-		return Collections.singletonList(localExtendedStatistics);
+		return response;
 	}
 
 	/**
-	 * Populate group name
+	 * Sends a request and decodes its response, recording the payload sizes and the parsing time in {@link #phaseMetrics}
 	 *
-	 * @param stats to store group name
-	 * @param advancedControllableProperties to handle control for group name
+	 * @param uri the device endpoint
+	 * @param payload the request body
+	 * @param parser the decoder receiving the response
+	 * @return the decoded device response
+	 * @throws Exception if the request fails
 	 */
-	private void populateGroupName(Map<String, String> stats, List<AdvancedControllableProperty> advancedControllableProperties) {
-		for (Entry<String, String> item : groupNames.entrySet()) {
-			String value = item.getValue();
-			createGroupStats(value, groupStates.get(value), stats, advancedControllableProperties);
+	private DeviceResponse postAndParse(String uri, String payload, DeviceResponseParser parser) throws Exception {
+		String result = this.doPost(uri, payload);
+		phaseMetrics.recordPayload(payload, result);
+		long startTime = System.nanoTime();
+		try {
+			return parser.parse(result);
+		} catch (Exception e) {
+			phaseMetrics.recordError(PollPhase.PARSING);
+			throw e;
+		} finally {
+			phaseMetrics.record(PollPhase.PARSING, startTime);
 		}
 	}
 
 	/**
-	 * Populate outlet name
-	 *
-	 * @param stats to store outlet name
-	 * @param advancedControllableProperties to handle control for outlet name
+	 * Retrieves analog data and outlet/group states from the device, together with the names when the topology cache expired.
+	 * A single combined request is used when enabled and supported by the firmware, otherwise analog/names
+	 * and states are retrieved with two separate requests, see {@link #retrievePhases(boolean)}.
+	 * If the states reported by the device no longer match the cached topology, the names are refreshed right away.
 	 */
-	private void populateOutletName(Map<String, String> stats, List<AdvancedControllableProperty> advancedControllableProperties) {
-		for (Entry<String, String> item : outletNames.entrySet()) {
-			String key = item.getKey();
-			String value = item.getValue();
-			createOutletStats(Integer.parseInt(key), value, outletStates.get(key), stats, advancedControllableProperties);
+	private void retrieveDeviceData() {
+		boolean refreshTopology = isTopologyExpired();
+		if (!combinedRetrieve || !combinedRetrieveSupported || outletNames.isEmpty() || !retrieveCombinedData(refreshTopology)) {
+			retrievePhases(refreshTopology);
+		}
+		if (!refreshTopology && !monitoringStale && !statesStale && !isTopologyConsistent()) {
+			logger.info("Outlet/group topology of the device changed, refreshing names");
+			invalidateTopology();
+			retrievePhases(true);
 		}
 	}
 
 	/**
-	 * Populate analog data
+	 * Retrieves the monitoring data and the states with separate requests that succeed or fail on their own.
+	 * A failed phase keeps the data of its last successful retrieve and is marked stale, while the data of the other phase is applied.
+	 * The poll only fails when both phases failed, or when the failed phase never succeeded and has no data to fall back on.
 	 *
-	 * @param stats store analog to display UI
-	 * @param dynamicStatistics store analog to db
+	 * @param includeNames whether the names are retrieved as well
 	 */
-	private void populateAnalogData(Map<String, String> stats, Map<String, String> dynamicStatistics) {
-		for (Entry<String, String> item : analogProperty.entrySet()) {
-			boolean isCurrentCase = item.getKey().contains(DataprobeConstant.CURRENT);
-			double currentValue = Double.parseDouble(item.getValue());
-			String key = item.getKey();
-			String unit = getUnitForKey(key);
-			String value = isCurrentCase ? String.valueOf(currentValue * 1000) : item.getValue();
-			String getCustomKey;
-			if (DataprobeConstant.T0.equals(key)) {
-				getCustomKey = DataprobeConstant.TEMPERATURE + unit;
-			} else if (key.contains(DataprobeConstant.T1)) {
-				getCustomKey = DataprobeConstant.TEMPERATURE_T1_PROBE + unit;
-			} else {
-				getCustomKey = key + unit;
+	private void retrievePhases(boolean includeNames) {
+		ResourceNotReachableException monitoringError = null;
+		try {
+			retrieveMonitoringData(includeNames);
+			monitoringRetrieveTime = System.currentTimeMillis();
+			monitoringStale = false;
+		} catch (ResourceNotReachableException e) {
+			if (monitoringRetrieveTime == 0) {
+				throw e;
 			}
-			boolean isHistorical = historicalProperties.contains(getCustomKey);
-			if (currentValue < DataprobeConstant.MAXIMUM_CURRENT_VALUE) {
-				if (isHistorical) {
-					dynamicStatistics.put(getCustomKey, value);
-					continue;
-				}
-				stats.put(getCustomKey, value);
+			monitoringError = e;
+		}
+		try {
+			retrieveControllingState();
+			stateRetrieveTime = System.currentTimeMillis();
+			statesStale = false;
+		} catch (ResourceNotReachableException e) {
+			if (monitoringError != null) {
+				e.addSuppressed(monitoringError);
+				throw e;
+			}
+			if (stateRetrieveTime == 0) {
+				throw e;
 			}
+			statesStale = true;
+			logger.warn(String.format("Unable to retrieve the outlet/group states, serving the states retrieved %d s ago",
+					(System.currentTimeMillis() - stateRetrieveTime) / 1000), e);
 		}
-	}
-
-	/**
-	 * {@inheritDoc}
-	 */
-	@Override
-	protected void internalInit() throws Exception {
-		if (logger.isDebugEnabled()) {
-			logger.debug("Internal init is called.");
+		if (monitoringError != null) {
+			monitoringStale = true;
+			logger.warn(String.format("Unable to retrieve the monitoring data, serving the data retrieved %d s ago",
+					(System.currentTimeMillis() - monitoringRetrieveTime) / 1000), monitoringError);
 		}
-		super.internalInit();
 	}
 
 	/**
-	 * {@inheritDoc}
+	 * Retrieves analog data, the names if requested and the states of the cached outlets/groups in one request.
+	 * If the names changed, the states of the new outlets/groups are retrieved separately.
+	 * When the device rejects the combined request, i.e. it answers with a 4xx status, an unsuccessful response or a response
+	 * missing one of the requested sections, the adapter switches to separate requests until it is destroyed.
+	 * Any other failure, e.g. a timeout or a 5xx status, fails the poll and the combined request is tried again on the next one.
+	 *
+	 * @param includeNames whether the names are retrieved as well
+	 * @return true if the combined request succeeded, false if the device rejected it
+	 * @throws ResourceNotReachableException if the combined request failed without being rejected
 	 */
-	@Override
-	protected void internalDestroy() {
-		if (logger.isDebugEnabled()) {
-			logger.debug("Internal destroy is called.");
+	private boolean retrieveCombinedData(boolean includeNames) {
+		Set<String> requestedOutlets = new HashSet<>(outletNames.keySet());
+		long startTime = System.nanoTime();
+		long sequence = stateRetrieveSequence.incrementAndGet();
+		try {
+			DeviceResponse response = doPostWithToken(DataprobeCommand.RETRIEVE_INFO, token -> createJsonCombinedRetrieveString(token, includeNames));
+			if ((!response.isSuccess() && !response.getMessage().contains(DataprobeConstant.NO_GROUPS_MESSAGE))
+					|| (includeNames && !response.hasNames()) || !response.hasAnalog() || !response.hasOutlets()) {
+				phaseMetrics.recordError(PollPhase.COMBINED_RETRIEVE);
+				combinedRetrieveSupported = false;
+				logger.warn(String.format("Combined retrieve is not supported by the device, falling back to separate requests: %s", response.getMessage()));
+				return false;
+			}
+			applyRetrieveResponse(response, includeNames);
+			if (!response.hasGroups()) {
+				groupStates.clear();
+			}
+			polledStateSequence = sequence;
+		} catch (Exception e) {
+			phaseMetrics.recordError(PollPhase.COMBINED_RETRIEVE);
+			if (isRejection(e)) {
+				combinedRetrieveSupported = false;
+				logger.warn("Combined retrieve was rejected by the device, falling back to separate requests", e);
+				return false;
+			}
+			throw new ResourceNotReachableException("Unable to retrieve the information of the device", e);
+		} finally {
+			phaseMetrics.record(PollPhase.COMBINED_RETRIEVE, startTime);
 		}
-		localExtendedStatistics = null;
-		super.internalDestroy();
+		monitoringRetrieveTime = System.currentTimeMillis();
+		monitoringStale = false;
+		stateRetrieveTime = monitoringRetrieveTime;
+		statesStale = false;
+		if (!requestedOutlets.equals(outletNames.keySet()) || !groupStates.keySet().containsAll(groupNames.values())) {
+			try {
+				retrieveControllingState();
+			} catch (ResourceNotReachableException e) {
+				statesStale = true;
+				logger.warn("Unable to retrieve the states of the new outlets/groups, serving the states of the combined retrieve", e);
+			}
+		}
+		return true;
 	}
 
 	/**
-	 * Check API token validation
-	 * If the token expires, we send a request to get a new token
+	 * Checks whether a request failed because the device refused it rather than because it could not be reached
+	 *
+	 * @param e the failure of the request
+	 * @return true if the device answered with a 4xx status
 	 */
-	private void checkValidApiToken() throws Exception {
-		if (StringUtils.isNullOrEmpty(this.getLogin()) || StringUtils.isNullOrEmpty(this.getPassword())) {
-			throw new FailedLoginException("Username or Password field is empty. Please check device credentials");
-		}
-		if (this.loginInfo.isTimeout() || this.loginInfo.getToken() == null) {
-			authenticate();
+	private boolean isRejection(Exception e) {
+		if (!(e instanceof CommandFailureException)) {
+			return false;
 		}
+		int statusCode = ((CommandFailureException) e).getStatusCode();
+		return statusCode >= 400 && statusCode < 500;
 	}
 
 	/**
-	 * Retrieves and processes device names and analog data from a remote API response.
+	 * Retrieves and processes analog data, and the device names if requested, from a remote API response.
+	 *
+	 * @param includeNames whether the names are retrieved as well
 	 */
-	private void retrieveMonitoringData() {
+	private void retrieveMonitoringData(boolean includeNames) {
+		long startTime = System.nanoTime();
 		try {
-			String jsonPayload = String.format(DataprobeConstant.RETRIEVE_NAME, this.loginInfo.getToken());
-			String result = this.doPost(DataprobeCommand.RETRIEVE_INFO, jsonPayload);
-			JsonNode namesResponse = objectMapper.readTree(result);
+			DeviceResponse namesResponse = doPostWithToken(DataprobeCommand.RETRIEVE_INFO, token -> createJsonMonitoringRetrieveString(token, includeNames));
 
-			if (!namesResponse.has("names") || !namesResponse.has("analog")) {
+			if ((includeNames && !namesResponse.hasNames()) || !namesResponse.hasAnalog()) {
 				throw new Exception("Unable to parse names from response. 'names' field missing in response.");
 			}
-			JsonNode responseNamesNode = namesResponse.at(DataprobeConstant.RESPONSE_NAMES);
-			handleGetDataByResponse(responseNamesNode, "outletNames", outletNames);
-			handleGetDataByResponse(responseNamesNode, "groupNames", groupNames);
-			handleGroupGetDataByResponse(namesResponse.at(DataprobeConstant.RESPONSE_ANALOG), analogProperty);
+			applyRetrieveResponse(namesResponse, includeNames);
 		} catch (Exception e) {
+			phaseMetrics.recordError(PollPhase.MONITORING_RETRIEVE);
 			throw new ResourceNotReachableException("Unable to retrieve names from response.", e);
+		} finally {
+			phaseMetrics.record(PollPhase.MONITORING_RETRIEVE, startTime);
 		}
 	}
 
 	/**
-	 * Retrieves and processes the group names from the given JSON node.
+	 * Applies a validated retrieve response to the adapter structures, and marks the names it contained as the current topology
 	 *
-	 * @param namesJson The JSON node containing the "groupNames" data.param namesJson
-	 * @param groupName The group name of property
-	 * @param listName The list name to store property
+	 * @param response the decoded retrieve response
+	 * @param includeNames whether the names were requested
 	 */
-	private void handleGetDataByResponse(JsonNode namesJson, String groupName, Map<String, String> listName) {
-		if (namesJson.has(groupName)) {
-			JsonNode outletsNode = namesJson.path(groupName);
-			listName.clear();
-			if (outletsNode != null) {
-				Iterator<Map.Entry<String, JsonNode>> fields = outletsNode.fields();
-				while (fields.hasNext()) {
-					Map.Entry<String, JsonNode> field = fields.next();
-					listName.put(field.getKey(), field.getValue().asText());
-				}
-			}
-		} else {
+	private void applyRetrieveResponse(DeviceResponse response, boolean includeNames) {
+		if (includeNames && (!response.hasOutletNames() || !response.hasGroupNames())) {
 			throw new ResourceNotReachableException("Unable to parse names from response. 'groupNames' fields missing.");
 		}
+		responseParser.apply(response);
+		if (includeNames) {
+			requestTemplates.updateTopology(outletNames.keySet(), groupNames.values());
+			topologyRetrievedTime = System.currentTimeMillis();
+		}
 	}
 
 	/**
-	 * Retrieves and processes the group names from the given JSON node.
+	 * Checks whether the cached names have to be retrieved again
 	 *
-	 * @param namesJson the Json return data
-	 * @param mapDataResponse the store to map data from response
+	 * @return true if there are no cached names or they are older than {@link #topologyRefreshInterval}
 	 */
-	private void handleGroupGetDataByResponse(JsonNode namesJson, Map<String, String> mapDataResponse) {
-		mapDataResponse.clear();
-		if (namesJson != null) {
-			Iterator<Map.Entry<String, JsonNode>> fields = namesJson.fields();
-			while (fields.hasNext()) {
-				Map.Entry<String, JsonNode> field = fields.next();
-				mapDataResponse.put(field.getKey(), field.getValue().asText());
-			}
-		}
+	private boolean isTopologyExpired() {
+		return outletNames.isEmpty() || System.currentTimeMillis() - topologyRetrievedTime >= topologyRefreshInterval * 1000;
+	}
+
+	/**
+	 * Checks whether the states reported by the device match the cached outlets and groups
+	 *
+	 * @return true if every cached outlet and group has a state and no unknown outlet was reported
+	 */
+	private boolean isTopologyConsistent() {
+		return outletStates.keySet().equals(outletNames.keySet()) && groupStates.keySet().containsAll(groupNames.values());
+	}
+
+	/**
+	 * Forces the names to be retrieved on the next cycle
+	 */
+	private void invalidateTopology() {
+		topologyRetrievedTime = 0;
 	}
 
 	/**
 	 * Retrieves and processes the states of outlets and groups from a remote API response.
 	 */
 	private void retrieveControllingState() {
+		long startTime = System.nanoTime();
+		long sequence = stateRetrieveSequence.incrementAndGet();
 		try {
-			String result = this.doPost(DataprobeCommand.RETRIEVE_INFO, createJsonRetrieveString());
-			JsonNode stateResponse = objectMapper.readTree(result);
-			if (!stateResponse.at(DataprobeConstant.RESPONSE_SUCCESS).asBoolean() && !stateResponse.at(DataprobeConstant.RESPONSE_MESSAGE).asText().contains("There are no Groups")) {
-				throw new ResourceNotReachableException(stateResponse.at(DataprobeConstant.RESPONSE_MESSAGE).asText());
+			DeviceResponse stateResponse = doPostWithToken(DataprobeCommand.RETRIEVE_INFO, this::createJsonRetrieveString);
+			if (!stateResponse.isSuccess() && !stateResponse.getMessage().contains(DataprobeConstant.NO_GROUPS_MESSAGE)) {
+				throw new ResourceNotReachableException(stateResponse.getMessage());
 			}
-			handleGroupGetDataByResponse(stateResponse.at("/outlets"), outletStates);
-			handleGroupGetDataByResponse(stateResponse.at("/groups"), groupStates);
+			responseParser.apply(stateResponse);
+			if (!stateResponse.hasOutlets()) {
+				outletStates.clear();
+			}
+			if (!stateResponse.hasGroups()) {
+				groupStates.clear();
+			}
+			polledStateSequence = sequence;
 		} catch (Exception e) {
+			phaseMetrics.recordError(PollPhase.STATE_RETRIEVE);
 			throw new ResourceNotReachableException("Can not retrieve the information of the device", e);
+		} finally {
+			phaseMetrics.record(PollPhase.STATE_RETRIEVE, startTime);
 		}
 	}
 
@@ -502,15 +2542,10 @@ public class DataprobeiBootPDUCommunicator extends RestCommunicator implements M
 					String sequence = formatSequenceName(sequenceName) + DataprobeConstant.HASH + item.getPropertyName();
 					switch (item) {
 						case NAME:
-							stats.put(sequence, sequenceName);
+							putStatistic(stats, sequence, sequenceName);
 							break;
 						case CONTROL:
-							addAdvancedControlProperties(
-									controls,
-									stats,
-									createButton(sequence, "Run", "Running", 0),
-									"N/A"
-							);
+							populateButton(controls, stats, sequence, "Run", "Running");
 							break;
 						default:
 							logger.debug(String.format("The Adaptor is not support this property %s", item.getPropertyName()));
@@ -536,19 +2571,16 @@ public class DataprobeiBootPDUCommunicator extends RestCommunicator implements M
 			switch (item) {
 				case NAME:
 					String result = name.substring(name.indexOf(" ") + 1);
-					stats.put(propertyName, result);
+					putStatistic(stats, propertyName, result);
 					break;
 				case OUTLET_CONTROL:
-					int status = DataprobeConstant.ON.equalsIgnoreCase(state) ? 1 : 0;
-					addAdvancedControlProperties(controls, stats,
-							createSwitch(propertyName, status, DataprobeConstant.OFF, DataprobeConstant.ON),
-							String.valueOf(status));
+					populateSwitch(controls, stats, propertyName, DataprobeConstant.ON.equalsIgnoreCase(state) ? 1 : 0);
 					break;
 				case CYCLE:
-					addAdvancedControlProperties(controls, stats, createButton(propertyName, DataprobeConstant.CYCLE, DataprobeConstant.CYCLING, 0), "N/A");
+					populateButton(controls, stats, propertyName, DataprobeConstant.CYCLE, DataprobeConstant.CYCLING);
 					break;
 				default:
-					stats.put(propertyName, state);
+					putStatistic(stats, propertyName, state);
 					break;
 			}
 		}
@@ -567,38 +2599,98 @@ public class DataprobeiBootPDUCommunicator extends RestCommunicator implements M
 			String propertyName = formatGroupName(name) + DataprobeConstant.HASH + item.getPropertyName();
 			switch (item) {
 				case NAME:
-					stats.put(propertyName, name);
+					putStatistic(stats, propertyName, name);
 					break;
 				case STATUS:
-					stats.put(propertyName, "?".equals(state) ? "No outlets in group" : state);
+					putStatistic(stats, propertyName, "?".equals(state) ? "No outlets in group" : state);
 					break;
 				case OUTLET_CONTROL:
-					int status = DataprobeConstant.ON.equalsIgnoreCase(state) ? 1 : 0;
-					addAdvancedControlProperties(controls, stats, createSwitch(propertyName, status, DataprobeConstant.OFF, DataprobeConstant.ON), String.valueOf(status));
+					populateSwitch(controls, stats, propertyName, DataprobeConstant.ON.equalsIgnoreCase(state) ? 1 : 0);
 					break;
 				case CYCLE:
-					addAdvancedControlProperties(controls, stats, createButton(propertyName, DataprobeConstant.CYCLE, DataprobeConstant.CYCLING, 0), "N/A");
+					populateButton(controls, stats, propertyName, DataprobeConstant.CYCLE, DataprobeConstant.CYCLING);
 					break;
 				default:
-					stats.put(propertyName, state);
+					putStatistic(stats, propertyName, state);
 					break;
 			}
 		}
 	}
 
 	/**
-	 * Creates a JSON string representation of the state request object.
+	 * Creates a JSON string representation of the state request.
 	 *
+	 * @param token the token to send with the request
 	 * @return a JSON string representing the state request, which includes the token, outlet names, and group names
-	 * @throws JsonProcessingException if an error occurs during JSON serialization
 	 */
-	private String createJsonRetrieveString() throws JsonProcessingException {
-		Serialisers.StateRequestObject stateRequestObject = new Serialisers.StateRequestObject(
-				this.loginInfo.getToken(),
-				outletNames.keySet().toArray(new String[0]),
-				groupNames.values().toArray(new String[0])
-		);
-		return objectMapper.writeValueAsString(stateRequestObject);
+	private String createJsonRetrieveString(String token) {
+		return requestTemplates.retrieve(token, Serialisers.RequestTemplates.STATES);
+	}
+
+	/**
+	 * Creates a JSON string representation of the analog retrieve request.
+	 *
+	 * @param token the token to send with the request
+	 * @param includeNames whether the names are requested as well
+	 * @return a JSON string requesting analog data and, if requested, the names
+	 */
+	private String createJsonMonitoringRetrieveString(String token, boolean includeNames) {
+		return requestTemplates.retrieve(token, Serialisers.RequestTemplates.ANALOG | (includeNames ? Serialisers.RequestTemplates.NAMES : 0));
+	}
+
+	/**
+	 * Creates a JSON string representation of the combined retrieve request.
+	 *
+	 * @param token the token to send with the request
+	 * @param includeNames whether the names are requested as well
+	 * @return a JSON string requesting analog data, the states of the known outlets and groups and, if requested, the names
+	 */
+	private String createJsonCombinedRetrieveString(String token, boolean includeNames) {
+		return requestTemplates.retrieve(token, Serialisers.RequestTemplates.ANALOG | Serialisers.RequestTemplates.STATES
+				| (includeNames ? Serialisers.RequestTemplates.NAMES : 0));
+	}
+
+	/**
+	 * Adds an On/Off switch to the statistics, reusing the switch of the previous poll if there is one.
+	 * The value and timestamp of a reused switch are only updated when the state changed, and are left
+	 * untouched while a control of the switch is waiting to be sent.
+	 *
+	 * @param controls the list that stores all controllable properties
+	 * @param stats store all statistics
+	 * @param name the name of property
+	 * @param status current status (0|1)
+	 */
+	private void populateSwitch(List<AdvancedControllableProperty> controls, Map<String, String> stats, String name, int status) {
+		String value = status == 1 ? DataprobeConstant.SWITCH_ON_VALUE : DataprobeConstant.SWITCH_OFF_VALUE;
+		AdvancedControllableProperty property = getControllableProperty(controls, name);
+		if (property == null) {
+			addAdvancedControlProperties(controls, stats, createSwitch(name, status, DataprobeConstant.OFF, DataprobeConstant.ON), value);
+			return;
+		}
+		if (pendingControls.containsKey(name)) {
+			return;
+		}
+		if (getSwitchStatus(property) != status) {
+			replaceControllableProperty(controls, property, status);
+		}
+		putStatistic(stats, name, value);
+	}
+
+	/**
+	 * Adds a button to the statistics, reusing the button of the previous poll if there is one.
+	 *
+	 * @param controls the list that stores all controllable properties
+	 * @param stats store all statistics
+	 * @param name name of the button
+	 * @param label label of the button
+	 * @param labelPressed label of the button after pressing it
+	 */
+	private void populateButton(List<AdvancedControllableProperty> controls, Map<String, String> stats, String name, String label, String labelPressed) {
+		if (getControllableProperty(controls, name) == null) {
+			addAdvancedControlProperties(controls, stats, createButton(name, label, labelPressed, 0), DataprobeConstant.NOT_AVAILABLE);
+			return;
+		}
+		putStatistic(stats, name, DataprobeConstant.NOT_AVAILABLE);
 	}
 
 	/**
@@ -636,11 +2728,12 @@ public class DataprobeiBootPDUCommunicator extends RestCommunicator implements M
 		button.setLabel(label);
 		button.setLabelPressed(labelPressed);
 		button.setGracePeriod(gracePeriod);
-		return new AdvancedControllableProperty(name, new Date(), button, "N/A");
+		return new AdvancedControllableProperty(name, new Date(), button, DataprobeConstant.NOT_AVAILABLE);
 	}
 
 	/**
 	 * Add addAdvancedControlProperties if advancedControllableProperties different empty
+	 * A property with the same name is replaced in place, otherwise the property is appended.
 	 *
 	 * @param advancedControllableProperties advancedControllableProperties is the list that store all controllable properties
 	 * @param stats store all statistics
@@ -649,29 +2742,143 @@ public class DataprobeiBootPDUCommunicator extends RestCommunicator implements M
 	 */
 	private void addAdvancedControlProperties(List<AdvancedControllableProperty> advancedControllableProperties, Map<String, String> stats, AdvancedControllableProperty property, String value) {
 		if (property != null) {
-			advancedControllableProperties.removeIf(controllableProperty -> controllableProperty.getName().equals(property.getName()));
+			Integer position = controllablePropertyIndex.get(property.getName());
+			if (position != null) {
+				advancedControllableProperties.set(position, property);
+			} else {
+				controllablePropertyIndex.put(property.getName(), advancedControllableProperties.size());
+				advancedControllableProperties.add(property);
+			}
+			changedProperties.add(property.getName());
 
 			String propertyValue = StringUtils.isNotNullOrEmpty(value) && !DataprobeConstant.NONE.equals(value) ? value : DataprobeConstant.EMPTY;
-			stats.put(property.getName(), propertyValue);
-			advancedControllableProperties.add(property);
+			putStatistic(stats, property.getName(), propertyValue);
+		}
+	}
+
+	/**
+	 * Stores a statistic and records its name in {@link #changedProperties} when the value differs
+	 *
+	 * @param stats store all statistics
+	 * @param name the name of the property
+	 * @param value the value of the property
+	 */
+	private void putStatistic(Map<String, String> stats, String name, String value) {
+		if (!Objects.equals(stats.put(name, value), value)) {
+			changedProperties.add(name);
+		}
+	}
+
+	/**
+	 * Stores a numeric statistic, formatted only when it differs from the value in {@link #reportedStatistics}
+	 *
+	 * @param stats store all statistics
+	 * @param name the name of the property
+	 * @param value the value of the property
+	 */
+	private void putStatistic(Map<String, String> stats, String name, long value) {
+		if (!isReported(stats, name, value)) {
+			stats.put(name, String.valueOf(value));
+			changedProperties.add(name);
+		}
+	}
+
+	/**
+	 * Stores an aggregate of an analog channel with the precision of the channel, formatted only when the rounded value
+	 * differs from the value in {@link #reportedStatistics}
+	 *
+	 * @param stats store all statistics
+	 * @param name the name of the property
+	 * @param channels the registry of the channel
+	 * @param index the slot index of the channel
+	 * @param value the value of the property
+	 */
+	private void putStatistic(Map<String, String> stats, String name, AnalogChannelRegistry channels, int index, double value) {
+		double rounded = channels.round(index, value);
+		if (!isReported(stats, name, rounded)) {
+			stats.put(name, channels.format(index, rounded));
+			changedProperties.add(name);
+		}
+	}
+
+	/**
+	 * Stores a boolean statistic, formatted only when it differs from the value in {@link #reportedStatistics}
+	 *
+	 * @param stats store all statistics
+	 * @param name the name of the property
+	 * @param value the value of the property
+	 */
+	private void putStatistic(Map<String, String> stats, String name, boolean value) {
+		if (!isReported(stats, name, value ? 1 : 0)) {
+			stats.put(name, String.valueOf(value));
+			changedProperties.add(name);
+		}
+	}
+
+	/**
+	 * Records a typed value in {@link #reportedStatistics} and checks whether the statistic already holds it
+	 *
+	 * @param stats store all statistics
+	 * @param name the name of the property
+	 * @param value the value of the property
+	 * @return true if the value is unchanged and present in the statistics
+	 */
+	private boolean isReported(Map<String, String> stats, String name, double value) {
+		Double reported = reportedStatistics.put(name, value);
+		return reported != null && reported == value && stats.containsKey(name);
+	}
+
+	/**
+	 * Retrieves the status of a switch, held as a number once polled or as the string value of a control
+	 *
+	 * @param property the switch
+	 * @return 1 if the switch is on, 0 otherwise
+	 */
+	private static int getSwitchStatus(AdvancedControllableProperty property) {
+		Object value = property.getValue();
+		if (value instanceof Number) {
+			return ((Number) value).intValue();
 		}
+		return DataprobeConstant.SWITCH_ON_VALUE.equals(value) ? 1 : 0;
 	}
 
 	/**
-	 * Determines the unit to be appended to a given key based on specific patterns.
+	 * Removes a statistic and records its name in {@link #changedProperties} when it was present
 	 *
-	 * @param key the key to analyze for unit assignment
-	 * @return a string representing the unit (e.g., "(mA)", "(V)", "(C)") or an empty string if no unit matches
+	 * @param stats store all statistics
+	 * @param name the name of the property
 	 */
-	private String getUnitForKey(String key) {
-		if (key.contains(DataprobeConstant.CURRENT)) {
-			return "(mA)";
-		} else if (key.contains(DataprobeConstant.VOLTAGE)) {
-			return "(V)";
-		} else if (key.contains(DataprobeConstant.T0) || key.contains(DataprobeConstant.T1)) {
-			return "(C)";
+	private void removeStatistic(Map<String, String> stats, String name) {
+		reportedStatistics.remove(name);
+		if (stats.remove(name) != null) {
+			changedProperties.add(name);
 		}
-		return "";
+	}
+
+	/**
+	 * Replaces a controllable property by a copy holding the new value and the current timestamp,
+	 * leaving the instance referenced by {@link #publishedStatistics} unchanged
+	 *
+	 * @param advancedControllableProperties the list that store all controllable properties
+	 * @param property the property to replace
+	 * @param value the new value
+	 */
+	private void replaceControllableProperty(List<AdvancedControllableProperty> advancedControllableProperties, AdvancedControllableProperty property, Object value) {
+		advancedControllableProperties.set(controllablePropertyIndex.get(property.getName()),
+				new AdvancedControllableProperty(property.getName(), new Date(), property.getType(), value));
+		changedProperties.add(property.getName());
+	}
+
+	/**
+	 * Looks up a controllable property by name through {@link #controllablePropertyIndex}
+	 *
+	 * @param advancedControllableProperties the list that store all controllable properties
+	 * @param name the name of the property
+	 * @return the property, or null if there is no property with this name
+	 */
+	private AdvancedControllableProperty getControllableProperty(List<AdvancedControllableProperty> advancedControllableProperties, String name) {
+		Integer position = controllablePropertyIndex.get(name);
+		return position == null ? null : advancedControllableProperties.get(position);
 	}
 
 	/**
@@ -703,7 +2910,7 @@ public class DataprobeiBootPDUCommunicator extends RestCommunicator implements M
 //			if (controlProperty.contains(DataprobeConstant.STOP)) {
 //				command = "stop";
 //			}
-			return new ControlObject(this.loginInfo.getToken(), "sequence", command, null, sequence, null);
+			return new ControlObject("sequence", command, null, sequence, null);
 		} catch (Exception e) {
 			throw new ResourceNotReachableException("Can not control this sequence", e);
 		}
@@ -726,9 +2933,139 @@ public class DataprobeiBootPDUCommunicator extends RestCommunicator implements M
 			command = "cycle";
 		}
 		if (DataprobeConstant.OUTLET_COMMAND.equals(groupName)) {
-			return new ControlObject(this.loginInfo.getToken(), groupName, command, new String[] { item }, null, null);
+			return new ControlObject(groupName, command, new String[] { item }, null, null);
+		}
+		return new ControlObject(groupName, command, null, null, item);
+	}
+
+	/**
+	 * Starts or stops the analog sampling mode, which is handled by the adapter without sending a control to the device
+	 *
+	 * @param controlProperty the control property
+	 * @param value "1" to start the sampling mode, "0" to stop it
+	 */
+	private void handleAnalogSamplingControl(String controlProperty, String value) {
+		if ("1".equals(value)) {
+			startAnalogSampling();
+		} else {
+			stopAnalogSampling();
+		}
+		statisticsLock.lock();
+		try {
+			ExtendedStatistics extendedStatistics = localExtendedStatistics;
+			if (extendedStatistics != null) {
+				updateValueForTheControllableProperty(controlProperty, value, extendedStatistics.getStatistics(), extendedStatistics.getControllableProperties());
+				publishStatistics();
+			}
+		} finally {
+			statisticsLock.unlock();
+		}
+	}
+
+	/**
+	 * Starts taking an analog sample every {@link #analogSamplingInterval} milliseconds, if not started yet
+	 */
+	private synchronized void startAnalogSampling() {
+		if (samplingExecutor != null) {
+			return;
+		}
+		synchronized (samplingLock) {
+			samplingAggregator.clear();
+		}
+		samplingStartTime = System.currentTimeMillis();
+		ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "Dataprobe analog sampling");
+			thread.setDaemon(true);
+			return thread;
+		});
+		samplingExecutor = executor;
+		executor.scheduleWithFixedDelay(this::sampleAnalogData, 0, analogSamplingInterval, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Stops the analog sampling mode, the samples taken are kept for the next summary
+	 */
+	private synchronized void stopAnalogSampling() {
+		ScheduledExecutorService executor = samplingExecutor;
+		samplingExecutor = null;
+		if (executor != null) {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Retrieves only the analog readings and stores them in {@link #samplingAggregator}.
+	 * A sample reuses the cached request and the preallocated buffers of the registry and the aggregator.
+	 * The sampling mode stops once {@link #analogSamplingDuration} elapsed.
+	 * No sample is taken while {@link #circuitBreaker} is open.
+	 */
+	private void sampleAnalogData() {
+		long now = System.currentTimeMillis();
+		if (now - samplingStartTime >= analogSamplingDuration * 1000) {
+			stopAnalogSampling();
+			return;
+		}
+		if (circuitBreaker.isOpen()) {
+			return;
+		}
+		try {
+			checkValidApiToken();
+			DeviceResponse response = doPostWithToken(DataprobeCommand.RETRIEVE_INFO, samplingResponseParser,
+					token -> requestTemplates.retrieve(token, Serialisers.RequestTemplates.ANALOG));
+			if (!response.hasAnalog()) {
+				return;
+			}
+			synchronized (samplingLock) {
+				samplingResponseParser.apply(response);
+				for (int i = 0; i < samplingChannels.size(); i++) {
+					if (samplingChannels.isPresent(i) && samplingChannels.getRawValue(i) < DataprobeConstant.MAXIMUM_CURRENT_VALUE) {
+						samplingAggregator.add(i, now, samplingChannels.getValue(i));
+					}
+				}
+			}
+		} catch (Exception e) {
+			logger.debug("Unable to take an analog sample", e);
+		}
+	}
+
+	/**
+	 * Populates the sampling switch and, for every analog property, the minimum, maximum and average of the samples
+	 * taken since the previous poll, e.g. "CurrentLC1(mA)#SampleMax"
+	 *
+	 * @param stats store all statistics
+	 * @param controls the list that stores all controllable properties
+	 */
+	private void populateAnalogSampling(Map<String, String> stats, List<AdvancedControllableProperty> controls) {
+		populateSwitch(controls, stats, AnalogSampling.GROUP + DataprobeConstant.HASH + AnalogSampling.CONTROL.getPropertyName(), samplingExecutor != null ? 1 : 0);
+		long since = samplingSummaryTime + 1;
+		samplingSummaryTime = System.currentTimeMillis();
+		int samples = 0;
+		synchronized (samplingLock) {
+			for (int i = 0; i < samplingChannels.size(); i++) {
+				String propertyName = samplingChannels.getPropertyName(i) + DataprobeConstant.HASH;
+				String min = propertyName + AnalogSampling.MIN.getPropertyName();
+				String max = propertyName + AnalogSampling.MAX.getPropertyName();
+				String average = propertyName + AnalogSampling.AVERAGE.getPropertyName();
+				if (samplingAggregator.aggregate(i, since, aggregateResult)) {
+					putStatistic(stats, min, samplingChannels, i, aggregateResult[AnalogAggregator.MIN]);
+					putStatistic(stats, max, samplingChannels, i, aggregateResult[AnalogAggregator.MAX]);
+					putStatistic(stats, average, samplingChannels, i, aggregateResult[AnalogAggregator.AVERAGE]);
+					samples = Math.max(samples, (int) aggregateResult[AnalogAggregator.COUNT]);
+				} else if (stats.remove(min) != null) {
+					stats.remove(max);
+					stats.remove(average);
+					changedProperties.add(min);
+					changedProperties.add(max);
+					changedProperties.add(average);
+				}
+			}
+		}
+		String sampleCount = AnalogSampling.GROUP + DataprobeConstant.HASH + AnalogSampling.SAMPLE_COUNT.getPropertyName();
+		if (samples > 0) {
+			putStatistic(stats, sampleCount, samples);
+		} else if (stats.remove(sampleCount) != null) {
+			changedProperties.add(sampleCount);
 		}
-		return new ControlObject(this.loginInfo.getToken(), groupName, command, null, null, item);
 	}
 
 	/**
@@ -738,15 +3075,18 @@ public class DataprobeiBootPDUCommunicator extends RestCommunicator implements M
 	 * @throws ResourceNotReachableException if there is an error in communication with the device or if the device fails to process the command
 	 */
 	private void sendCommandToControlDevice(ControlObject controlObject) {
+		long startTime = System.nanoTime();
 		try {
-			String controlResponse = this.doPost(DataprobeCommand.CONTROL, objectMapper.writeValueAsString(controlObject));
-			JsonNode deviceResponse = objectMapper.readTree(controlResponse);
-			if (!deviceResponse.at(DataprobeConstant.RESPONSE_SUCCESS).asBoolean()
-					&& !deviceResponse.at(DataprobeConstant.RESPONSE_MESSAGE).asText().contains("There are no data")) {
-				throw new ResourceNotReachableException(deviceResponse.at(DataprobeConstant.RESPONSE_MESSAGE).asText());
+			DeviceResponse deviceResponse = doPostWithToken(DataprobeCommand.CONTROL, controlResponseParser, token -> requestTemplates.control(token, controlObject));
+			if (!deviceResponse.isSuccess() && !deviceResponse.getMessage().contains("There are no data")) {
+				throw new ResourceNotReachableException(deviceResponse.getMessage());
 			}
+			controlResponseParser.apply(deviceResponse);
 		} catch (Exception e) {
+			phaseMetrics.recordError(PollPhase.CONTROL);
 			throw new ResourceNotReachableException("Can not control device", e);
+		} finally {
+			phaseMetrics.record(PollPhase.CONTROL, startTime);
 		}
 	}
 
@@ -759,12 +3099,10 @@ public class DataprobeiBootPDUCommunicator extends RestCommunicator implements M
 	 * @param advancedControllableProperties the advancedControllableProperties is list AdvancedControllableProperties
 	 */
 	private void updateValueForTheControllableProperty(String property, String value, Map<String, String> extendedStatistics, List<AdvancedControllableProperty> advancedControllableProperties) {
-		for (AdvancedControllableProperty advancedControllableProperty : advancedControllableProperties) {
-			if (advancedControllableProperty.getName().equals(property)) {
-				extendedStatistics.put(property, value);
-				advancedControllableProperty.setValue(value);
-				break;
-			}
+		AdvancedControllableProperty advancedControllableProperty = getControllableProperty(advancedControllableProperties, property);
+		if (advancedControllableProperty != null) {
+			putStatistic(extendedStatistics, property, value);
+			replaceControllableProperty(advancedControllableProperties, advancedControllableProperty, value);
 		}
 	}
 
@@ -797,4 +3135,19 @@ public class DataprobeiBootPDUCommunicator extends RestCommunicator implements M
 	private String formatSequenceName(String sequenceName) {
 		return DataprobeConstant.SEQUENCE + sequenceName;
 	}
+
+	/**
+	 * Builds a request body that carries the given token
+	 */
+	@FunctionalInterface
+	private interface PayloadBuilder {
+		/**
+		 * Builds the request body
+		 *
+		 * @param token the token to put into the request
+		 * @return the JSON request body
+		 * @throws Exception if the body can not be built
+		 */
+		String build(String token) throws Exception;
+	}
 }
\ No newline at end of file
@@ -0,0 +1,290 @@
+/*
+ *  Copyright (c) 2024 AVI-SPL, Inc. All Rights Reserved.
+ */
+
+package com.insightsystems.symphony.dal.dataprobe;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import com.insightsystems.symphony.dal.dataprobe.common.DataprobeConstant;
+
+/**
+ * Outcome of a request sent to the device, filled in by {@link DeviceResponseParser}.
+ * Besides the status fields and which sections were present, the content of the sections is held here until
+ * the response was validated and {@link DeviceResponseParser#apply(DeviceResponse)} writes it into the adapter structures.
+ *
+ * @author Harry / Symphony Dev Team<br>
+ * Created on 10/18/2026
+ * @since 1.0.0
+ */
+class DeviceResponse {
+	private boolean success;
+	private String message = DataprobeConstant.EMPTY;
+	private boolean outletNames;
+	private boolean groupNames;
+	private boolean names;
+	private boolean analog;
+	private boolean outlets;
+	private boolean groups;
+	private Map<String, String> outletNameValues;
+	private Map<String, String> groupNameValues;
+	private Map<String, String> outletStateValues;
+	private Map<String, String> groupStateValues;
+	private String[] analogKeys;
+	private double[] analogValues;
+	private int[] analogDecimals;
+	private int analogCount;
+
+	/**
+	 * Retrieves {@link #success}
+	 *
+	 * @return value of {@link #success}
+	 */
+	boolean isSuccess() {
+		return success;
+	}
+
+	/**
+	 * Sets {@link #success} value
+	 *
+	 * @param success new value of {@link #success}
+	 */
+	void setSuccess(boolean success) {
+		this.success = success;
+	}
+
+	/**
+	 * Retrieves {@link #message}
+	 *
+	 * @return value of {@link #message}, empty if the device did not send a message
+	 */
+	String getMessage() {
+		return message;
+	}
+
+	/**
+	 * Sets {@link #message} value
+	 *
+	 * @param message new value of {@link #message}
+	 */
+	void setMessage(String message) {
+		this.message = message == null ? DataprobeConstant.EMPTY : message;
+	}
+
+	/**
+	 * @return true if the response contained a "names" section
+	 */
+	boolean hasNames() {
+		return names;
+	}
+
+	/**
+	 * @param names whether the response contained a "names" section
+	 */
+	void setNames(boolean names) {
+		this.names = names;
+	}
+
+	/**
+	 * @return true if the "names" section contained the outlet names
+	 */
+	boolean hasOutletNames() {
+		return outletNames;
+	}
+
+	/**
+	 * @param outletNames whether the "names" section contained the outlet names
+	 */
+	void setOutletNames(boolean outletNames) {
+		this.outletNames = outletNames;
+	}
+
+	/**
+	 * @return true if the "names" section contained the group names
+	 */
+	boolean hasGroupNames() {
+		return groupNames;
+	}
+
+	/**
+	 * @param groupNames whether the "names" section contained the group names
+	 */
+	void setGroupNames(boolean groupNames) {
+		this.groupNames = groupNames;
+	}
+
+	/**
+	 * @return true if the response contained an "analog" section
+	 */
+	boolean hasAnalog() {
+		return analog;
+	}
+
+	/**
+	 * @param analog whether the response contained an "analog" section
+	 */
+	void setAnalog(boolean analog) {
+		this.analog = analog;
+	}
+
+	/**
+	 * @return true if the response contained an "outlets" section
+	 */
+	boolean hasOutlets() {
+		return outlets;
+	}
+
+	/**
+	 * @param outlets whether the response contained an "outlets" section
+	 */
+	void setOutlets(boolean outlets) {
+		this.outlets = outlets;
+	}
+
+	/**
+	 * @return true if the response contained a "groups" section
+	 */
+	boolean hasGroups() {
+		return groups;
+	}
+
+	/**
+	 * @param groups whether the response contained a "groups" section
+	 */
+	void setGroups(boolean groups) {
+		this.groups = groups;
+	}
+
+	/**
+	 * @return the content of the "outletNames" section, null if the section was not in the response
+	 */
+	Map<String, String> getOutletNameValues() {
+		return outletNameValues;
+	}
+
+	/**
+	 * @param outletNameValues the content of the "outletNames" section
+	 */
+	void setOutletNameValues(Map<String, String> outletNameValues) {
+		this.outletNameValues = outletNameValues;
+	}
+
+	/**
+	 * @return the content of the "groupNames" section, null if the section was not in the response
+	 */
+	Map<String, String> getGroupNameValues() {
+		return groupNameValues;
+	}
+
+	/**
+	 * @param groupNameValues the content of the "groupNames" section
+	 */
+	void setGroupNameValues(Map<String, String> groupNameValues) {
+		this.groupNameValues = groupNameValues;
+	}
+
+	/**
+	 * @return the content of the "outlets" section, null if the section was not in the response
+	 */
+	Map<String, String> getOutletStateValues() {
+		return outletStateValues;
+	}
+
+	/**
+	 * @param outletStateValues the content of the "outlets" section
+	 */
+	void setOutletStateValues(Map<String, String> outletStateValues) {
+		this.outletStateValues = outletStateValues;
+	}
+
+	/**
+	 * @return the content of the "groups" section, null if the section was not in the response
+	 */
+	Map<String, String> getGroupStateValues() {
+		return groupStateValues;
+	}
+
+	/**
+	 * @param groupStateValues the content of the "groups" section
+	 */
+	void setGroupStateValues(Map<String, String> groupStateValues) {
+		this.groupStateValues = groupStateValues;
+	}
+
+	/**
+	 * Marks the "analog" section as present in the response, before its readings are added
+	 */
+	void startAnalogReadings() {
+		analogKeys = new String[8];
+		analogValues = new double[analogKeys.length];
+		analogDecimals = new int[analogKeys.length];
+		analogCount = 0;
+	}
+
+	/**
+	 * Adds a reading of the "analog" section
+	 *
+	 * @param key the name of the reading in the response
+	 * @param value the value reported by the device
+	 * @param decimals the number of decimals of the value reported by the device
+	 */
+	void addAnalogReading(String key, double value, int decimals) {
+		if (analogCount == analogKeys.length) {
+			analogKeys = Arrays.copyOf(analogKeys, analogCount * 2);
+			analogValues = Arrays.copyOf(analogValues, analogCount * 2);
+			analogDecimals = Arrays.copyOf(analogDecimals, analogCount * 2);
+		}
+		analogKeys[analogCount] = key;
+		analogValues[analogCount] = value;
+		analogDecimals[analogCount] = decimals;
+		analogCount++;
+	}
+
+	/**
+	 * @return true if the "analog" section was in the response, even if it was not an object
+	 */
+	boolean hasAnalogReadings() {
+		return analogKeys != null;
+	}
+
+	/**
+	 * @return the number of readings of the "analog" section
+	 */
+	int getAnalogCount() {
+		return analogCount;
+	}
+
+	/**
+	 * @param index the index of the reading
+	 * @return the name of the reading in the response
+	 */
+	String getAnalogKey(int index) {
+		return analogKeys[index];
+	}
+
+	/**
+	 * @param index the index of the reading
+	 * @return the value reported by the device
+	 */
+	double getAnalogValue(int index) {
+		return analogValues[index];
+	}
+
+	/**
+	 * @param index the index of the reading
+	 * @return the number of decimals of the value reported by the device
+	 */
+	int getAnalogDecimals(int index) {
+		return analogDecimals[index];
+	}
+
+	/**
+	 * Checks whether the device rejected the request because of an expired or invalid token
+	 *
+	 * @return true if the token was rejected
+	 */
+	boolean isInvalidToken() {
+		return !success && message.toLowerCase().contains(DataprobeConstant.TOKEN_MESSAGE_KEYWORD);
+	}
+}
@@ -0,0 +1,278 @@
+/*
+ *  Copyright (c) 2024 AVI-SPL, Inc. All Rights Reserved.
+ */
+
+package com.insightsystems.symphony.dal.dataprobe;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * Streaming decoder for the responses of services/retrieve/ and services/control/.
+ * The response is read in one pass with a {@link JsonParser} into the {@link DeviceResponse}, unknown fields are skipped,
+ * so no intermediate JSON tree is built. Once the caller validated the response, {@link #apply(DeviceResponse)} writes
+ * the "names", "outlets" and "groups" sections into the maps of the adapter and the "analog" section into its
+ * {@link AnalogChannelRegistry}, so a truncated or rejected response leaves them untouched.
+ *
+ * @author Harry / Symphony Dev Team<br>
+ * Created on 10/18/2026
+ * @since 1.0.0
+ */
+class DeviceResponseParser {
+	private static final String SUCCESS = "success";
+	private static final String MESSAGE = "message";
+	private static final String NAMES = "names";
+	private static final String OUTLET_NAMES = "outletNames";
+	private static final String GROUP_NAMES = "groupNames";
+	private static final String ANALOG = "analog";
+	private static final String OUTLETS = "outlets";
+	private static final String GROUPS = "groups";
+
+	private final JsonFactory jsonFactory = new JsonFactory();
+	private final Map<String, String> outletNames;
+	private final Map<String, String> groupNames;
+	private final AnalogChannelRegistry analogChannels;
+	private final Map<String, String> outletStates;
+	private final Map<String, String> groupStates;
+	private final Object lock;
+
+	/**
+	 * Constructs a new {@link DeviceResponseParser} writing into the given maps.
+	 *
+	 * @param outletNames the map receiving the outlet names
+	 * @param groupNames the map receiving the group names
+	 * @param analogChannels the registry receiving the analog readings
+	 * @param outletStates the map receiving the outlet states
+	 * @param groupStates the map receiving the group states
+	 */
+	DeviceResponseParser(Map<String, String> outletNames, Map<String, String> groupNames, AnalogChannelRegistry analogChannels,
+			Map<String, String> outletStates, Map<String, String> groupStates) {
+		this(outletNames, groupNames, analogChannels, outletStates, groupStates, null);
+	}
+
+	/**
+	 * Constructs a new {@link DeviceResponseParser} applying the responses to the given maps while holding a lock,
+	 * for targets that are read by another thread under the same lock.
+	 *
+	 * @param outletNames the map receiving the outlet names
+	 * @param groupNames the map receiving the group names
+	 * @param analogChannels the registry receiving the analog readings
+	 * @param outletStates the map receiving the outlet states
+	 * @param groupStates the map receiving the group states
+	 * @param lock the monitor held while a response is applied to the targets, null to apply without locking
+	 */
+	DeviceResponseParser(Map<String, String> outletNames, Map<String, String> groupNames, AnalogChannelRegistry analogChannels,
+			Map<String, String> outletStates, Map<String, String> groupStates, Object lock) {
+		this.outletNames = outletNames;
+		this.groupNames = groupNames;
+		this.analogChannels = analogChannels;
+		this.outletStates = outletStates;
+		this.groupStates = groupStates;
+		this.lock = lock;
+	}
+
+	/**
+	 * Decodes a device response, without writing into the targets, see {@link #apply(DeviceResponse)}
+	 *
+	 * @param content the response body
+	 * @return the status of the response and the content of the sections it contained
+	 * @throws IOException if the response is not a complete JSON object
+	 */
+	DeviceResponse parse(String content) throws IOException {
+		DeviceResponse response = new DeviceResponse();
+		try (JsonParser parser = jsonFactory.createParser(content)) {
+			if (parser.nextToken() != JsonToken.START_OBJECT) {
+				throw new IOException("Unexpected response from the device, JSON object expected");
+			}
+			while (parser.nextToken() == JsonToken.FIELD_NAME) {
+				String field = parser.getCurrentName();
+				parser.nextToken();
+				switch (field) {
+					case SUCCESS:
+						response.setSuccess(parser.getValueAsBoolean());
+						break;
+					case MESSAGE:
+						response.setMessage(parser.getValueAsString());
+						break;
+					case NAMES:
+						response.setNames(parser.currentToken() == JsonToken.START_OBJECT);
+						readNames(parser, response);
+						break;
+					case ANALOG:
+						response.setAnalog(readAnalog(parser, response));
+						break;
+					case OUTLETS:
+						Map<String, String> outlets = new HashMap<>();
+						response.setOutlets(readSection(parser, outlets));
+						response.setOutletStateValues(outlets);
+						break;
+					case GROUPS:
+						Map<String, String> groups = new HashMap<>();
+						response.setGroups(readSection(parser, groups));
+						response.setGroupStateValues(groups);
+						break;
+					default:
+						parser.skipChildren();
+						break;
+				}
+			}
+			if (parser.currentToken() != JsonToken.END_OBJECT) {
+				throw new IOException("Truncated response from the device");
+			}
+		}
+		return response;
+	}
+
+	/**
+	 * Writes the sections of a validated response into the targets, every section present in the response replaces
+	 * the content of its target
+	 *
+	 * @param response the decoded response
+	 */
+	void apply(DeviceResponse response) {
+		if (lock == null) {
+			write(response);
+			return;
+		}
+		synchronized (lock) {
+			write(response);
+		}
+	}
+
+	/**
+	 * Writes the sections of a response into the targets
+	 *
+	 * @param response the decoded response
+	 */
+	private void write(DeviceResponse response) {
+		replace(outletNames, response.getOutletNameValues());
+		replace(groupNames, response.getGroupNameValues());
+		replace(outletStates, response.getOutletStateValues());
+		replace(groupStates, response.getGroupStateValues());
+		if (response.hasAnalogReadings()) {
+			analogChannels.clearReadings();
+			for (int i = 0; i < response.getAnalogCount(); i++) {
+				analogChannels.update(response.getAnalogKey(i), response.getAnalogValue(i), response.getAnalogDecimals(i));
+			}
+		}
+	}
+
+	/**
+	 * Replaces the content of a target with the content of a section
+	 *
+	 * @param target the map receiving the values
+	 * @param values the content of the section, null if the section was not in the response
+	 */
+	private static void replace(Map<String, String> target, Map<String, String> values) {
+		if (values != null) {
+			target.clear();
+			target.putAll(values);
+		}
+	}
+
+	/**
+	 * Reads the "names" section, containing the outlet names and group names
+	 *
+	 * @param parser the parser positioned on the start of the section
+	 * @param response the response to record the sections found
+	 * @throws IOException if the section can not be read
+	 */
+	private void readNames(JsonParser parser, DeviceResponse response) throws IOException {
+		if (parser.currentToken() != JsonToken.START_OBJECT) {
+			parser.skipChildren();
+			return;
+		}
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String field = parser.getCurrentName();
+			parser.nextToken();
+			if (OUTLET_NAMES.equals(field)) {
+				Map<String, String> names = new HashMap<>();
+				response.setOutletNames(readSection(parser, names));
+				response.setOutletNameValues(names);
+			} else if (GROUP_NAMES.equals(field)) {
+				Map<String, String> names = new HashMap<>();
+				response.setGroupNames(readSection(parser, names));
+				response.setGroupNameValues(names);
+			} else {
+				parser.skipChildren();
+			}
+		}
+	}
+
+	/**
+	 * Reads the "analog" section into the response, with the number of decimals of each reading.
+	 * Readings that are not numbers are treated as missing.
+	 *
+	 * @param parser the parser positioned on the start of the section
+	 * @param response the response receiving the readings
+	 * @return true if the section was an object, false if it was empty or of another type
+	 * @throws IOException if the section can not be read
+	 */
+	private boolean readAnalog(JsonParser parser, DeviceResponse response) throws IOException {
+		response.startAnalogReadings();
+		if (parser.currentToken() != JsonToken.START_OBJECT) {
+			parser.skipChildren();
+			return false;
+		}
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String key = parser.getCurrentName();
+			if (parser.nextToken().isScalarValue()) {
+				double value = parser.getValueAsDouble(Double.NaN);
+				if (!Double.isNaN(value)) {
+					response.addAnalogReading(key, value, countDecimals(parser.getText()));
+				}
+			} else {
+				parser.skipChildren();
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Counts the digits after the decimal point of a number as written by the device
+	 *
+	 * @param text the number, e.g. "0.125"
+	 * @return the number of decimals
+	 */
+	private static int countDecimals(String text) {
+		int point = text.indexOf('.');
+		if (point < 0) {
+			return 0;
+		}
+		int end = point + 1;
+		while (end < text.length() && Character.isDigit(text.charAt(end))) {
+			end++;
+		}
+		return end - point - 1;
+	}
+
+	/**
+	 * Reads a flat object section into a map.
+	 * Nested values are skipped.
+	 *
+	 * @param parser the parser positioned on the start of the section
+	 * @param target the map receiving the values
+	 * @return true if the section was an object, false if it was empty or of another type
+	 * @throws IOException if the section can not be read
+	 */
+	private boolean readSection(JsonParser parser, Map<String, String> target) throws IOException {
+		if (parser.currentToken() != JsonToken.START_OBJECT) {
+			parser.skipChildren();
+			return false;
+		}
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String key = parser.getCurrentName();
+			if (parser.nextToken().isScalarValue()) {
+				target.put(key, parser.getValueAsString());
+			} else {
+				parser.skipChildren();
+			}
+		}
+		return true;
+	}
+}
@@ -0,0 +1,143 @@
+/*
+ *  Copyright (c) 2024 AVI-SPL, Inc. All Rights Reserved.
+ */
+
+package com.insightsystems.symphony.dal.dataprobe;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.net.ssl.SSLSession;
+
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.conn.ClientConnectionManager;
+import org.apache.http.conn.ManagedHttpClientConnection;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.params.HttpParams;
+import org.apache.http.protocol.BasicHttpContext;
+import org.apache.http.protocol.HttpContext;
+
+/**
+ * Counters of the HTTP connections used to reach the device.
+ * The requests go through an instrumented client, see {@link #instrument(CloseableHttpClient)}, which reads the connection of each
+ * exchange from its context: a connection that carried a single request was opened for it, otherwise it was reused.
+ * TLS handshakes that resumed a cached session are told apart from full handshakes by the creation time of the session.
+ *
+ * @author Harry / Symphony Dev Team<br>
+ * Created on 10/18/2026
+ * @since 1.0.0
+ */
+class HttpConnectionMetrics {
+	private final AtomicLong requests = new AtomicLong();
+	private final AtomicLong createdConnections = new AtomicLong();
+	private final AtomicLong reusedConnections = new AtomicLong();
+	private final AtomicLong fullHandshakes = new AtomicLong();
+	private final AtomicLong resumedHandshakes = new AtomicLong();
+
+	/**
+	 * @return the number of requests sent
+	 */
+	long getRequests() {
+		return requests.get();
+	}
+
+	/**
+	 * @return the number of connections opened
+	 */
+	long getCreatedConnections() {
+		return createdConnections.get();
+	}
+
+	/**
+	 * @return the number of requests sent over a connection opened for a previous request
+	 */
+	long getReusedConnections() {
+		return reusedConnections.get();
+	}
+
+	/**
+	 * @return the number of full TLS handshakes
+	 */
+	long getFullHandshakes() {
+		return fullHandshakes.get();
+	}
+
+	/**
+	 * @return the number of TLS handshakes that resumed a cached session
+	 */
+	long getResumedHandshakes() {
+		return resumedHandshakes.get();
+	}
+
+	/**
+	 * Wraps a client so that its exchanges are counted in these metrics.
+	 * Each request runs in a child of the given context, so the attributes shared between requests are still inherited.
+	 *
+	 * @param delegate the client sending the requests
+	 * @return the instrumented client
+	 */
+	CloseableHttpClient instrument(CloseableHttpClient delegate) {
+		return new CloseableHttpClient() {
+			@Override
+			protected CloseableHttpResponse doExecute(HttpHost target, HttpRequest request, HttpContext context) throws IOException {
+				long startTime = System.currentTimeMillis();
+				HttpContext exchangeContext = new BasicHttpContext(context);
+				CloseableHttpResponse response = delegate.execute(target, request, exchangeContext);
+				requests.incrementAndGet();
+				record(HttpClientContext.adapt(exchangeContext).getConnection(ManagedHttpClientConnection.class), startTime);
+				return response;
+			}
+
+			@Override
+			public void close() throws IOException {
+				delegate.close();
+			}
+
+			@Override
+			@SuppressWarnings("deprecation")
+			public HttpParams getParams() {
+				return delegate.getParams();
+			}
+
+			@Override
+			@SuppressWarnings("deprecation")
+			public ClientConnectionManager getConnectionManager() {
+				return delegate.getConnectionManager();
+			}
+		};
+	}
+
+	/**
+	 * Records the connection an exchange went through.
+	 * The connection is left out when it was already released, which happens when the response has no content.
+	 *
+	 * @param connection the connection of the exchange
+	 * @param startTime the time the exchange started
+	 */
+	private void record(ManagedHttpClientConnection connection, long startTime) {
+		if (connection == null) {
+			return;
+		}
+		try {
+			if (connection.getMetrics().getRequestCount() > 1) {
+				reusedConnections.incrementAndGet();
+				return;
+			}
+			createdConnections.incrementAndGet();
+			SSLSession session = connection.getSSLSession();
+			if (session == null) {
+				return;
+			}
+			if (session.getCreationTime() < startTime) {
+				resumedHandshakes.incrementAndGet();
+			} else {
+				fullHandshakes.incrementAndGet();
+			}
+		} catch (RuntimeException e) {
+			// the connection was released or shut down once the response was read
+		}
+	}
+}
@@ -0,0 +1,205 @@
+/*
+ *  Copyright (c) 2024 AVI-SPL, Inc. All Rights Reserved.
+ */
+
+package com.insightsystems.symphony.dal.dataprobe;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanOperationInfo;
+import javax.management.ReflectionException;
+
+import com.insightsystems.symphony.dal.dataprobe.common.metric.PollPhase;
+
+/**
+ * Latency and error counters of each {@link PollPhase}, with a fixed-bucket latency histogram per phase and
+ * the number of request and response characters exchanged with the device.
+ * The counters are also exposed as read-only attributes of a {@link DynamicMBean}.
+ *
+ * @author Harry / Symphony Dev Team<br>
+ * Created on 10/18/2026
+ * @since 1.0.0
+ */
+class PhaseMetrics implements DynamicMBean {
+	/**
+	 * Upper bounds in milliseconds of the histogram buckets, the last bucket holds the slower calls
+	 */
+	private static final long[] BUCKET_BOUNDS = { 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000 };
+	private static final int BUCKETS = BUCKET_BOUNDS.length + 1;
+	private static final PollPhase[] PHASES = PollPhase.values();
+
+	private final AtomicLongArray counts = new AtomicLongArray(PHASES.length);
+	private final AtomicLongArray errors = new AtomicLongArray(PHASES.length);
+	private final AtomicLongArray totalNanos = new AtomicLongArray(PHASES.length);
+	private final AtomicLongArray maxNanos = new AtomicLongArray(PHASES.length);
+	private final AtomicLongArray histogram = new AtomicLongArray(PHASES.length * BUCKETS);
+	private final AtomicLong requestCharacters = new AtomicLong();
+	private final AtomicLong responseCharacters = new AtomicLong();
+
+	/**
+	 * Records a call of a phase
+	 *
+	 * @param phase the phase
+	 * @param startNanos the {@link System#nanoTime()} at the start of the call
+	 */
+	void record(PollPhase phase, long startNanos) {
+		long elapsed = System.nanoTime() - startNanos;
+		int index = phase.ordinal();
+		counts.incrementAndGet(index);
+		totalNanos.addAndGet(index, elapsed);
+		long max;
+		do {
+			max = maxNanos.get(index);
+		} while (elapsed > max && !maxNanos.compareAndSet(index, max, elapsed));
+		long millis = TimeUnit.NANOSECONDS.toMillis(elapsed);
+		int bucket = 0;
+		while (bucket < BUCKET_BOUNDS.length && millis > BUCKET_BOUNDS[bucket]) {
+			bucket++;
+		}
+		histogram.incrementAndGet(index * BUCKETS + bucket);
+	}
+
+	/**
+	 * Records a failed call of a phase, in addition to {@link #record(PollPhase, long)}
+	 *
+	 * @param phase the phase
+	 */
+	void recordError(PollPhase phase) {
+		errors.incrementAndGet(phase.ordinal());
+	}
+
+	/**
+	 * Records the size of a request and its response
+	 *
+	 * @param request the request body
+	 * @param response the response body, may be null
+	 */
+	void recordPayload(String request, String response) {
+		requestCharacters.addAndGet(request == null ? 0 : request.length());
+		responseCharacters.addAndGet(response == null ? 0 : response.length());
+	}
+
+	/**
+	 * Returns every counter by name, e.g. "AuthenticationCount", "StateRetrieveP95Ms" or "ResponseCharacters"
+	 *
+	 * @return the counters in a stable order
+	 */
+	Map<String, Long> snapshot() {
+		Map<String, Long> metrics = new LinkedHashMap<>();
+		for (PollPhase phase : PHASES) {
+			int index = phase.ordinal();
+			long count = counts.get(index);
+			String name = phase.getPropertyName();
+			metrics.put(name + "Count", count);
+			metrics.put(name + "Errors", errors.get(index));
+			metrics.put(name + "AvgMs", count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalNanos.get(index) / count));
+			metrics.put(name + "MaxMs", TimeUnit.NANOSECONDS.toMillis(maxNanos.get(index)));
+			metrics.put(name + "P95Ms", percentile(index, count, 0.95));
+		}
+		metrics.put("RequestCharacters", requestCharacters.get());
+		metrics.put("ResponseCharacters", responseCharacters.get());
+		return metrics;
+	}
+
+	/**
+	 * Estimates a latency percentile of a phase as the upper bound of the histogram bucket it falls in
+	 *
+	 * @param index the phase index
+	 * @param count the number of calls of the phase
+	 * @param ratio the percentile, e.g. 0.95
+	 * @return the percentile in milliseconds, at most the maximum latency
+	 */
+	private long percentile(int index, long count, double ratio) {
+		if (count == 0) {
+			return 0;
+		}
+		long max = TimeUnit.NANOSECONDS.toMillis(maxNanos.get(index));
+		long threshold = (long) Math.ceil(count * ratio);
+		long cumulated = 0;
+		for (int bucket = 0; bucket < BUCKET_BOUNDS.length; bucket++) {
+			cumulated += histogram.get(index * BUCKETS + bucket);
+			if (cumulated >= threshold) {
+				return Math.min(BUCKET_BOUNDS[bucket], max);
+			}
+		}
+		return max;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object getAttribute(String attribute) throws AttributeNotFoundException {
+		Long value = snapshot().get(attribute);
+		if (value == null) {
+			throw new AttributeNotFoundException(attribute);
+		}
+		return value;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+		throw new AttributeNotFoundException(String.format("%s is read-only", attribute.getName()));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public AttributeList getAttributes(String[] attributes) {
+		Map<String, Long> metrics = snapshot();
+		AttributeList list = new AttributeList();
+		for (String attribute : attributes) {
+			Long value = metrics.get(attribute);
+			if (value != null) {
+				list.add(new Attribute(attribute, value));
+			}
+		}
+		return list;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public AttributeList setAttributes(AttributeList attributes) {
+		return new AttributeList();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object invoke(String actionName, Object[] params, String[] signature) throws ReflectionException {
+		throw new ReflectionException(new NoSuchMethodException(actionName), "The metrics have no operations");
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public MBeanInfo getMBeanInfo() {
+		Map<String, Long> metrics = snapshot();
+		MBeanAttributeInfo[] attributes = new MBeanAttributeInfo[metrics.size()];
+		int i = 0;
+		for (Entry<String, Long> metric : metrics.entrySet()) {
+			attributes[i++] = new MBeanAttributeInfo(metric.getKey(), Long.class.getName(), metric.getKey(), true, false, false);
+		}
+		return new MBeanInfo(getClass().getName(), "Latency and error counters of the Dataprobe iBoot PDU adapter", attributes, null,
+				new MBeanOperationInfo[0], null);
+	}
+}
@@ -4,6 +4,13 @@
 
 package com.insightsystems.symphony.dal.dataprobe;
 
+import java.util.Arrays;
+import java.util.Collection;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.insightsystems.symphony.dal.dataprobe.common.DataprobeConstant;
+import com.insightsystems.symphony.dal.dataprobe.common.metric.AnalogChannel;
+
 /**
  * This class contains helper classes for serializing data related to control and state requests.
  * @author Harry / Symphony Dev Team<br>
@@ -14,37 +21,34 @@ public class Serialisers {
 
     /**
      * A class representing a control object, used for sending control commands to a device.
-     * This includes properties for the device token, control type, command, sequence, group, and outlets.
+     * This includes properties for the control type, command, sequence, group, and outlets.
+     * The token is added when the request is serialized, so a queued control is sent with the current token.
      */
     static class ControlObject{
-        private String token,control,command, group, sequence;
+        private String control,command, group, sequence;
         private String[] outlets;
 
         /**
          * Constructs a new {@link ControlObject}.
          *
-         * @param _token    the authentication token for the device
          * @param _control  the type of control (e.g., "group", "outlet", "sequence")
          * @param _command  the command to be sent (e.g., "on", "off", "cycle")
          * @param _outlets  an array of outlets to be controlled
          * @param _sequence the sequence for the control (maybe null)
          * @param _group    the group of outlets (maybe null)
          */
-        ControlObject(String _token,String _control,String _command,String[] _outlets,String _sequence, String _group){
-            token = _token;
+        ControlObject(String _control,String _command,String[] _outlets,String _sequence, String _group){
             control = _control;
             command = _command;
             outlets = _outlets;
             sequence = _sequence;
             group = _group;
         }
-        public String getToken() {return token;}
         public String getControl() {return control;}
         public String getCommand() {return command;}
         public String[] getOutlets() {return outlets;}
         public String getSequence() {return sequence;}
         public String getGroup() {return group;}
-        public void setToken(String token) {this.token = token;}
         public void setControl(String control) {this.control = control;}
         public void setCommand(String command) {this.command = command;}
         public void setOutlets(String[] outlets) {this.outlets = outlets;}
@@ -53,30 +57,153 @@ public class Serialisers {
     }
 
     /**
-     * A class representing a state request object, used for retrieving the state of outlets and groups.
-     * This includes properties for the device token, outlets, and groups.
+     * Pre-serialized JSON templates for the retrieve and control requests.
+     * The parts of the request that do not change between polls (name lists, analog channels, outlet and group lists)
+     * are serialized once and cached; a request only splices the token in front of the cached part.
+     * The cache is regenerated when the topology or the token changes.
      */
-    static class StateRequestObject{
+    static class RequestTemplates{
+        static final int NAMES = 1;
+        static final int ANALOG = 2;
+        static final int STATES = 4;
+
+        private static final JsonStringEncoder ENCODER = JsonStringEncoder.getInstance();
+        private static final String[] ANALOG_CHANNELS = Arrays.stream(AnalogChannel.values()).map(AnalogChannel::getCode).toArray(String[]::new);
+        private final String[] retrieveSuffixes = new String[(NAMES | ANALOG | STATES) + 1];
+        private String[] outlets = new String[0];
+        private String[] groups = new String[0];
         private String token;
-        private String[] outlets, groups;
+        private String tokenPrefix = "{\"token\":null";
 
         /**
-         * Constructs a new {@link StateRequestObject}.
+         * Builds a retrieve request.
          *
          * @param _token    the authentication token for the device
-         * @param _outlets  an array of outlets to be retrieved
-         * @param _groups   an array of groups to be retrieved
+         * @param sections  the sections to request, a combination of {@link #NAMES}, {@link #ANALOG} and {@link #STATES}
+         * @return the JSON request body
          */
-        StateRequestObject(String _token,String[] _outlets, String[] _groups){
-            token = _token;
-            outlets = _outlets;
-            groups = _groups;
+        synchronized String retrieve(String _token, int sections){
+            String suffix = retrieveSuffixes[sections];
+            if (suffix == null) {
+                suffix = buildRetrieveSuffix(sections);
+                retrieveSuffixes[sections] = suffix;
+            }
+            return tokenPrefix(_token).concat(suffix);
+        }
+
+        /**
+         * Builds a retrieve request for the states of some outlets and of all groups, this request is not cached.
+         *
+         * @param _token    the authentication token for the device
+         * @param _outlets  the outlet ids
+         * @return the JSON request body
+         */
+        synchronized String retrieveStates(String _token, String[] _outlets){
+            StringBuilder builder = new StringBuilder(tokenPrefix(_token)).append(",\"outlets\":");
+            appendArray(builder, _outlets);
+            if (groups.length > 0) {
+                builder.append(",\"groups\":");
+                appendArray(builder, groups);
+            }
+            return builder.append('}').toString();
+        }
+
+        /**
+         * Builds a control request from a {@link ControlObject}, fields left null are not sent.
+         *
+         * @param _token         the authentication token for the device
+         * @param controlObject  the control to send
+         * @return the JSON request body
+         */
+        synchronized String control(String _token, ControlObject controlObject){
+            StringBuilder builder = new StringBuilder(tokenPrefix(_token));
+            appendField(builder, "control", controlObject.getControl());
+            appendField(builder, "command", controlObject.getCommand());
+            appendField(builder, "sequence", controlObject.getSequence());
+            appendField(builder, "group", controlObject.getGroup());
+            if (controlObject.getOutlets() != null) {
+                builder.append(",\"outlets\":");
+                appendArray(builder, controlObject.getOutlets());
+            }
+            return builder.append('}').toString();
+        }
+
+        /**
+         * Updates the outlets and groups whose states are requested, regenerating the cached requests if they changed.
+         *
+         * @param _outlets  the outlet ids
+         * @param _groups   the group names
+         */
+        synchronized void updateTopology(Collection<String> _outlets, Collection<String> _groups){
+            if (sameElements(outlets, _outlets) && sameElements(groups, _groups)) {
+                return;
+            }
+            outlets = _outlets.toArray(new String[0]);
+            groups = _groups.toArray(new String[0]);
+            Arrays.fill(retrieveSuffixes, null);
+        }
+
+        private String tokenPrefix(String _token){
+            if (_token == null ? token != null : !_token.equals(token)) {
+                token = _token;
+                tokenPrefix = "{\"token\":" + quote(_token);
+            }
+            return tokenPrefix;
+        }
+
+        private String buildRetrieveSuffix(int sections){
+            StringBuilder builder = new StringBuilder();
+            if ((sections & NAMES) != 0) {
+                builder.append(",\"names\":");
+                appendArray(builder, DataprobeConstant.RETRIEVE_NAME_LIST);
+            }
+            if ((sections & ANALOG) != 0) {
+                builder.append(",\"analog\":");
+                appendArray(builder, ANALOG_CHANNELS);
+            }
+            if ((sections & STATES) != 0) {
+                builder.append(",\"outlets\":");
+                appendArray(builder, outlets);
+                if (groups.length > 0) {
+                    builder.append(",\"groups\":");
+                    appendArray(builder, groups);
+                }
+            }
+            return builder.append('}').toString();
+        }
+
+        private static boolean sameElements(String[] cached, Collection<String> values){
+            if (cached.length != values.size()) {
+                return false;
+            }
+            int index = 0;
+            for (String value : values) {
+                if (!cached[index++].equals(value)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static void appendField(StringBuilder builder, String name, String value){
+            if (value != null) {
+                builder.append(",\"").append(name).append("\":").append(quote(value));
+            }
+        }
+
+        private static void appendArray(StringBuilder builder, String[] values){
+            builder.append('[');
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    builder.append(',');
+                }
+                builder.append(quote(values[i]));
+            }
+            builder.append(']');
+        }
+
+        private static String quote(String value){
+            return value == null ? "null" : '"' + new String(ENCODER.quoteAsString(value)) + '"';
         }
-        public String getToken() {return token;}
-        public String[] getGroups() {return groups;}
-        public String[] getOutlets() {return outlets;}
-        public void setToken(String token) {this.token = token;}
-        public void setOutlets(String[] outlets) {this.outlets = outlets;}
-        public void setGroups(String[] groups) {this.groups = groups;}
     }
-}
+}
\ No newline at end of file
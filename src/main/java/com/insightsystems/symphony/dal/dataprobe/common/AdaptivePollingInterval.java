@@ -0,0 +1,84 @@
+/*
+ *  Copyright (c) 2024 AVI-SPL, Inc. All Rights Reserved.
+ */
+
+package com.insightsystems.symphony.dal.dataprobe.common;
+
+/**
+ * AdaptivePollingInterval computes the delay before the next background poll.
+ * The interval drops to the minimum after a control or a change of the device state, grows by {@link #BACKOFF_FACTOR}
+ * after each quiet poll up to the maximum, and never goes below {@link #LATENCY_FACTOR} times the average poll duration,
+ * so a slow device is polled less often.
+ *
+ * @author Harry / Symphony Dev Team<br>
+ * Created on 10/18/2026
+ * @since 1.0.0
+ */
+public class AdaptivePollingInterval {
+	/**
+	 * Growth of the interval after a poll without change
+	 */
+	private static final double BACKOFF_FACTOR = 1.5;
+
+	/**
+	 * Minimum ratio between the interval and the average poll duration
+	 */
+	private static final long LATENCY_FACTOR = 10;
+
+	/**
+	 * Weight of the last poll duration in the moving average
+	 */
+	private static final double LATENCY_WEIGHT = 0.2;
+
+	private final long minInterval;
+	private final long maxInterval;
+	private long interval;
+	private double averageLatency;
+
+	/**
+	 * Create an instance of AdaptivePollingInterval
+	 *
+	 * @param minInterval the shortest interval in milliseconds
+	 * @param maxInterval the longest interval in milliseconds
+	 */
+	public AdaptivePollingInterval(long minInterval, long maxInterval) {
+		this.minInterval = minInterval;
+		this.maxInterval = Math.max(minInterval, maxInterval);
+		this.interval = minInterval;
+	}
+
+	/**
+	 * Computes the interval after a poll
+	 *
+	 * @param changed whether the device state changed or a control was sent since the previous poll
+	 * @param latency duration of the poll in milliseconds
+	 * @return the delay in milliseconds before the next poll
+	 */
+	public synchronized long next(boolean changed, long latency) {
+		averageLatency = averageLatency == 0 ? latency : averageLatency + LATENCY_WEIGHT * (latency - averageLatency);
+		if (changed) {
+			interval = minInterval;
+		} else {
+			interval = Math.min(maxInterval, (long) (interval * BACKOFF_FACTOR));
+		}
+		return Math.min(maxInterval, Math.max(interval, (long) averageLatency * LATENCY_FACTOR));
+	}
+
+	/**
+	 * Retrieves the interval computed after the last poll, without the latency floor
+	 *
+	 * @return the interval in milliseconds
+	 */
+	public synchronized long getInterval() {
+		return interval;
+	}
+
+	/**
+	 * Retrieves the moving average of the poll duration
+	 *
+	 * @return the average poll duration in milliseconds
+	 */
+	public synchronized long getAverageLatency() {
+		return (long) averageLatency;
+	}
+}
@@ -0,0 +1,164 @@
+/*
+ *  Copyright (c) 2024 AVI-SPL, Inc. All Rights Reserved.
+ */
+
+package com.insightsystems.symphony.dal.dataprobe.common;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * CircuitBreaker stops the requests to a device that keeps failing.
+ * The breaker opens after {@code threshold} consecutive failures; while it is open no request is allowed until the backoff elapsed,
+ * then a single probe request is let through. A failed probe reopens the breaker with twice the backoff, up to the maximum,
+ * a successful request closes it. The backoff is spread by up to {@link #JITTER_RATIO} so that adapters of devices behind the
+ * same failed link do not probe together.
+ *
+ * @author Harry / Symphony Dev Team<br>
+ * Created on 10/18/2026
+ * @since 1.0.0
+ */
+public class CircuitBreaker {
+	/**
+	 * State of the breaker
+	 */
+	public enum State {
+		CLOSED("Closed"),
+		OPEN("Open"),
+		HALF_OPEN("HalfOpen");
+
+		private final String name;
+
+		/**
+		 * Constructor for State.
+		 *
+		 * @param name The displayed name of the state.
+		 */
+		State(String name) {
+			this.name = name;
+		}
+
+		/**
+		 * Retrieves {@link #name}
+		 *
+		 * @return value of {@link #name}
+		 */
+		public String getName() {
+			return name;
+		}
+	}
+
+	/**
+	 * Maximum random part of the backoff, as a ratio of the backoff
+	 */
+	private static final double JITTER_RATIO = 0.1;
+
+	private final int threshold;
+	private final long minBackoff;
+	private final long maxBackoff;
+	private State state = State.CLOSED;
+	private int consecutiveFailures;
+	private long backoff;
+	private long probeTime;
+
+	/**
+	 * Create an instance of CircuitBreaker
+	 *
+	 * @param threshold the number of consecutive failures opening the breaker, 0 to never open it
+	 * @param minBackoff the delay in milliseconds before the first probe
+	 * @param maxBackoff the longest delay in milliseconds between two probes
+	 */
+	public CircuitBreaker(int threshold, long minBackoff, long maxBackoff) {
+		this.threshold = threshold;
+		this.minBackoff = minBackoff;
+		this.maxBackoff = Math.max(minBackoff, maxBackoff);
+	}
+
+	/**
+	 * Checks whether a request may be sent to the device.
+	 * Once the backoff elapsed the breaker turns half open and only the caller receiving true sends the probe.
+	 *
+	 * @return true if the breaker is closed or the caller has to send the probe
+	 */
+	public synchronized boolean allowRequest() {
+		if (state == State.CLOSED) {
+			return true;
+		}
+		if (state == State.OPEN && System.currentTimeMillis() >= probeTime) {
+			state = State.HALF_OPEN;
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Closes the breaker after a successful request
+	 */
+	public synchronized void recordSuccess() {
+		state = State.CLOSED;
+		consecutiveFailures = 0;
+		backoff = 0;
+	}
+
+	/**
+	 * Counts a failed request, opens the breaker once the threshold is reached and doubles the backoff after a failed probe
+	 *
+	 * @return true if the breaker is open after the failure
+	 */
+	public synchronized boolean recordFailure() {
+		consecutiveFailures++;
+		if (state == State.HALF_OPEN) {
+			open(Math.min(maxBackoff, backoff * 2));
+		} else if (state == State.CLOSED && threshold > 0 && consecutiveFailures >= threshold) {
+			open(minBackoff);
+		}
+		return state != State.CLOSED;
+	}
+
+	/**
+	 * Opens the breaker until the given backoff plus a random jitter elapsed
+	 *
+	 * @param backoff the backoff in milliseconds
+	 */
+	private void open(long backoff) {
+		this.backoff = backoff;
+		long jitter = (long) (backoff * JITTER_RATIO);
+		probeTime = System.currentTimeMillis() + backoff + (jitter > 0 ? ThreadLocalRandom.current().nextLong(jitter + 1) : 0);
+		state = State.OPEN;
+	}
+
+	/**
+	 * Checks whether the breaker is open or half open
+	 *
+	 * @return true if requests are refused or a probe is in flight
+	 */
+	public synchronized boolean isOpen() {
+		return state != State.CLOSED;
+	}
+
+	/**
+	 * Retrieves {@link #state}
+	 *
+	 * @return value of {@link #state}
+	 */
+	public synchronized State getState() {
+		return state;
+	}
+
+	/**
+	 * Retrieves {@link #consecutiveFailures}
+	 *
+	 * @return value of {@link #consecutiveFailures}
+	 */
+	public synchronized int getConsecutiveFailures() {
+		return consecutiveFailures;
+	}
+
+	/**
+	 * Retrieves the time of the next probe
+	 *
+	 * @return the time in milliseconds since the epoch, 0 while the breaker is closed
+	 */
+	public synchronized long getProbeTime() {
+		return state == State.CLOSED ? 0 : probeTime;
+	}
+}
@@ -13,19 +13,44 @@ package com.insightsystems.symphony.dal.dataprobe.common;
  */
 public class DataprobeConstant {
 	public static final String AUTHENTICATION_PARAM = "{\"username\":\"%s\", \"password\":\"%s\"}";
-	public static final String RETRIEVE_NAME = "{\"token\":\"%s\", \"names\":[\"outlets\",\"groups\",\"sequences\"], \"analog\":[\"LC1\",\"LC2\",\"LV1\",\"LV2\",\"T0\",\"T1\"]}";
+	public static final String[] RETRIEVE_NAME_LIST = { "outlets", "groups", "sequences" };
+	public static final long DEFAULT_TOPOLOGY_REFRESH_INTERVAL = 3600;
+	public static final int DEFAULT_CONTROL_QUEUE_SIZE = 32;
+	public static final long DEFAULT_CONTROL_BATCH_WINDOW = 100;
+	public static final int CONTROL_THREADS = 8;
+	public static final long CONTROL_THREAD_KEEP_ALIVE = 60000;
+	public static final long DEFAULT_POLLING_INTERVAL = 30000;
+	public static final long DEFAULT_POLLING_JITTER = 1000;
+	public static final long DEFAULT_MIN_POLLING_INTERVAL = 5000;
+	public static final long DEFAULT_MAX_POLLING_INTERVAL = 300000;
+	public static final double DEFAULT_ADAPTIVE_POLLING_THRESHOLD = 5;
+	public static final long DEFAULT_HISTORICAL_HEARTBEAT = 900;
+	public static final int AGGREGATE_CAPACITY = 1024;
+	public static final int SAMPLING_CAPACITY = 3600;
+	public static final int DEFAULT_MAX_CONNECTIONS = 4;
+	public static final long METRICS_PUBLISH_INTERVAL = 60000;
+	public static final long DEFAULT_ANALOG_SAMPLING_INTERVAL = 1000;
+	public static final long DEFAULT_ANALOG_SAMPLING_DURATION = 3600;
+	public static final int DEFAULT_CIRCUIT_BREAKER_THRESHOLD = 3;
+	public static final long DEFAULT_CIRCUIT_BREAKER_MIN_BACKOFF = 10000;
+	public static final long DEFAULT_CIRCUIT_BREAKER_MAX_BACKOFF = 300000;
+	public static final int TOKEN_REFRESH_THREADS = 4;
+	public static final long TOKEN_REFRESH_THREAD_KEEP_ALIVE = 60000;
 	public static final String GROUP = "Group_";
 	public static final String OUTLET = "Outlet_";
 	public static final String SEQUENCE = "Sequence_";
 	public static final String NONE = "None";
+	public static final String NOT_AVAILABLE = "N/A";
+	public static final String STATISTICS_UNCHANGED = "StatisticsUnchanged";
+	public static final String TRUE = "true";
+	public static final String SWITCH_ON_VALUE = "1";
+	public static final String SWITCH_OFF_VALUE = "0";
 	public static final String EMPTY = "";
 	public static final String HASH = "#";
 	public static final String UNDER_SCORE = "_";
 	public static final String OUTLET_COMMAND = "outlet";
 	public static final String GROUP_COMMAND = "group";
-	public static final String TEMPERATURE = "TemperatureT1";
-	public static final String TEMPERATURE_T1_PROBE = "TemperatureT2";
-	public static final Double MAXIMUM_CURRENT_VALUE = 999.9;
+	public static final double MAXIMUM_CURRENT_VALUE = 999.9;
 
 	/* Response properties */
 	public static final String RESPONSE_SUCCESS = "/success";
@@ -33,12 +58,10 @@ public class DataprobeConstant {
 	public static final String RESPONSE_NAMES = "/names";
 	public static final String RESPONSE_ANALOG = "/analog";
 	public static final String RESPONSE_GROUPS = "/groups";
+	public static final String NO_GROUPS_MESSAGE = "There are no Groups";
+	public static final String TOKEN_MESSAGE_KEYWORD = "token";
 
-	/* Analog properties */
-	public static final String VOLTAGE = "Voltage";
-	public static final String CURRENT = "Current";
-	public static final String T0 = "T0";
-	public static final String T1 = "T1";
+	/* Outlet/group states */
 	public static final String ON = "On";
 	public static final String OFF = "Off";
 
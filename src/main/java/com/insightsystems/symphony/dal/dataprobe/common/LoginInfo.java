@@ -6,14 +6,28 @@ package com.insightsystems.symphony.dal.dataprobe.common;
 
 /**
  * LoginInfo class represents information about a login session.
+ * The token is considered valid for {@link #tokenTimeout} milliseconds after it was issued, and becomes
+ * due for a refresh once {@link #REFRESH_AHEAD_RATIO} of that window has elapsed, so a new token can be
+ * requested in the background before the current one expires.
  *
  * @author Harry / Symphony Dev Team<br>
  * Created on 11/20/2024
  * @since 1.0.0
  */
 public class LoginInfo {
-	private long loginDateTime = 0;
-	private String token;
+	/**
+	 * Default token lifetime, 4 minutes
+	 */
+	public static final long DEFAULT_TOKEN_TIMEOUT = 240000;
+
+	/**
+	 * Portion of the token lifetime after which the token is refreshed ahead of expiry
+	 */
+	private static final double REFRESH_AHEAD_RATIO = 0.8;
+
+	private volatile long loginDateTime = 0;
+	private volatile String token;
+	private volatile long tokenTimeout = DEFAULT_TOKEN_TIMEOUT;
 
 	/**
 	 * Create an instance of LoginInfo
@@ -58,13 +72,58 @@ public class LoginInfo {
 		this.token = token;
 	}
 
+	/**
+	 * Retrieves {@code {@link #tokenTimeout}}
+	 *
+	 * @return value of {@link #tokenTimeout}
+	 */
+	public long getTokenTimeout() {
+		return tokenTimeout;
+	}
+
+	/**
+	 * Sets {@code tokenTimeout}
+	 *
+	 * @param tokenTimeout the token lifetime in milliseconds
+	 */
+	public void setTokenTimeout(long tokenTimeout) {
+		this.tokenTimeout = tokenTimeout;
+	}
+
+	/**
+	 * Stores a newly issued token and records the time it was issued
+	 *
+	 * @param token the token returned by the device
+	 */
+	public void updateToken(String token) {
+		this.token = token;
+		this.loginDateTime = System.currentTimeMillis();
+	}
+
+	/**
+	 * Drops the current token so that the next request authenticates again
+	 */
+	public void invalidate() {
+		this.token = null;
+		this.loginDateTime = 0;
+	}
+
 	/**
 	 * Check token expiry time
-	 * Token is timeout when elapsed > 4min
+	 * Token is timeout when there is no token or elapsed >= {@link #tokenTimeout}
 	 *
 	 * @return boolean
 	 */
 	public boolean isTimeout() {
-		return ((System.currentTimeMillis() - loginDateTime) / 60000) > 4;
+		return token == null || System.currentTimeMillis() - loginDateTime >= tokenTimeout;
+	}
+
+	/**
+	 * Check whether the token should be refreshed ahead of its expiry
+	 *
+	 * @return true if the token is still valid but most of its lifetime has elapsed
+	 */
+	public boolean isRefreshDue() {
+		return System.currentTimeMillis() - loginDateTime >= (long) (tokenTimeout * REFRESH_AHEAD_RATIO);
 	}
 }
@@ -0,0 +1,98 @@
+/*
+ *  Copyright (c) 2024 AVI-SPL, Inc. All Rights Reserved.
+ */
+
+package com.insightsystems.symphony.dal.dataprobe.common.metric;
+
+/**
+ * Enum representing the analog channels retrieved from the device
+ *
+ * @author Harry / Symphony Dev Team<br>
+ * Created on 10/18/2026
+ * @since 1.0.0
+ */
+public enum AnalogChannel {
+	LC1("LC1", "(mA)", 1000, null),
+	LC2("LC2", "(mA)", 1000, null),
+	LV1("LV1", "(V)", 1, null),
+	LV2("LV2", "(V)", 1, null),
+	T0("T0", "(C)", 1, "TemperatureT1"),
+	T1("T1", "(C)", 1, "TemperatureT2");
+
+	private final String code;
+	private final String unit;
+	private final double scale;
+	private final String displayName;
+
+	/**
+	 * Constructor for AnalogChannel.
+	 *
+	 * @param code The channel code used in the retrieve request.
+	 * @param unit The unit appended to the property name.
+	 * @param scale The factor applied to the value reported by the device.
+	 * @param displayName The property name, or null to use the name reported by the device.
+	 */
+	AnalogChannel(String code, String unit, double scale, String displayName) {
+		this.code = code;
+		this.unit = unit;
+		this.scale = scale;
+		this.displayName = displayName;
+	}
+
+	/**
+	 * Retrieves {@link #code}
+	 *
+	 * @return value of {@link #code}
+	 */
+	public String getCode() {
+		return code;
+	}
+
+	/**
+	 * Retrieves {@link #unit}
+	 *
+	 * @return value of {@link #unit}
+	 */
+	public String getUnit() {
+		return unit;
+	}
+
+	/**
+	 * Retrieves {@link #scale}
+	 *
+	 * @return value of {@link #scale}
+	 */
+	public double getScale() {
+		return scale;
+	}
+
+	/**
+	 * Builds the property name of a reading, e.g. "CurrentLC1(mA)" or "TemperatureT1(C)"
+	 *
+	 * @param responseKey the name of the reading in the device response
+	 * @return the property name
+	 */
+	public String getPropertyName(String responseKey) {
+		return (displayName != null ? displayName : responseKey) + unit;
+	}
+
+	/**
+	 * Retrieves the channel of a reading based on its name in the device response, e.g. "CurrentLC1" or "T0".
+	 *
+	 * @param responseKey the name of the reading in the device response
+	 * @return the channel, or null if the reading does not belong to a known channel
+	 */
+	public static AnalogChannel getByResponseKey(String responseKey) {
+		for (AnalogChannel channel : values()) {
+			if (responseKey.equals(channel.code)) {
+				return channel;
+			}
+		}
+		for (AnalogChannel channel : values()) {
+			if (responseKey.endsWith(channel.code)) {
+				return channel;
+			}
+		}
+		return null;
+	}
+}
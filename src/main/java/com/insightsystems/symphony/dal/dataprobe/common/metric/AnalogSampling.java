@@ -0,0 +1,42 @@
+/*
+ *  Copyright (c) 2024 AVI-SPL, Inc. All Rights Reserved.
+ */
+
+package com.insightsystems.symphony.dal.dataprobe.common.metric;
+
+/**
+ * Enum representing the properties of the high-rate analog sampling mode.
+ *
+ * @author Harry / Symphony Dev Team<br>
+ * Created on 10/18/2026
+ * @since 1.0.0
+ */
+public enum AnalogSampling {
+	CONTROL("Control"),
+	SAMPLE_COUNT("SampleCount"),
+	MIN("SampleMin"),
+	MAX("SampleMax"),
+	AVERAGE("SampleAvg");
+
+	public static final String GROUP = "AnalogSampling";
+
+	private final String propertyName;
+
+	/**
+	 * Constructor for AnalogSampling.
+	 *
+	 * @param propertyName The name of the sampling property.
+	 */
+	AnalogSampling(String propertyName) {
+		this.propertyName = propertyName;
+	}
+
+	/**
+	 * Retrieves {@link #propertyName}
+	 *
+	 * @return value of {@link #propertyName}
+	 */
+	public String getPropertyName() {
+		return propertyName;
+	}
+}
@@ -16,6 +16,7 @@ public enum DataprobeControlType {
 	OUTLET("outlet"),
 	GROUP("group"),
 	SEQUENCE("sequence"),
+	ANALOG_SAMPLING("analogsampling"),
 	UNKNOWN("unknown");
 
 	private final String name;
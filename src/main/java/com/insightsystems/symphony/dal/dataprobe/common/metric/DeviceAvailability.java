@@ -0,0 +1,47 @@
+/*
+ *  Copyright (c) 2024 AVI-SPL, Inc. All Rights Reserved.
+ */
+
+package com.insightsystems.symphony.dal.dataprobe.common.metric;
+
+/**
+ * Enum representing the reachability of the device and the freshness of the statistics,
+ * overall and for each retrieve phase: monitoring data (names and analog readings) and outlet/group states.
+ *
+ * @author Harry / Symphony Dev Team<br>
+ * Created on 10/18/2026
+ * @since 1.0.0
+ */
+public enum DeviceAvailability {
+	CIRCUIT_STATE("CircuitState"),
+	CONSECUTIVE_FAILURES("ConsecutiveFailures"),
+	NEXT_PROBE("NextProbeInS"),
+	STALE("Stale"),
+	DATA_AGE("DataAgeInS"),
+	MONITORING_STALE("MonitoringStale"),
+	MONITORING_DATA_AGE("MonitoringDataAgeInS"),
+	STATES_STALE("StatesStale"),
+	STATES_DATA_AGE("StatesDataAgeInS");
+
+	public static final String GROUP = "DeviceAvailability";
+
+	private final String propertyName;
+
+	/**
+	 * Constructor for DeviceAvailability.
+	 *
+	 * @param propertyName The name of the availability metric.
+	 */
+	DeviceAvailability(String propertyName) {
+		this.propertyName = propertyName;
+	}
+
+	/**
+	 * Retrieves {@link #propertyName}
+	 *
+	 * @return value of {@link #propertyName}
+	 */
+	public String getPropertyName() {
+		return propertyName;
+	}
+}
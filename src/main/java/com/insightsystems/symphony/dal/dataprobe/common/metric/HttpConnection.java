@@ -0,0 +1,42 @@
+/*
+ *  Copyright (c) 2024 AVI-SPL, Inc. All Rights Reserved.
+ */
+
+package com.insightsystems.symphony.dal.dataprobe.common.metric;
+
+/**
+ * Enum representing the metrics of the HTTP connections to the device.
+ *
+ * @author Harry / Symphony Dev Team<br>
+ * Created on 10/18/2026
+ * @since 1.0.0
+ */
+public enum HttpConnection {
+	REQUESTS("Requests"),
+	CONNECTIONS_CREATED("ConnectionsCreated"),
+	CONNECTIONS_REUSED("ConnectionsReused"),
+	TLS_FULL_HANDSHAKES("TLSFullHandshakes"),
+	TLS_RESUMED_HANDSHAKES("TLSResumedHandshakes");
+
+	public static final String GROUP = "HttpConnection";
+
+	private final String propertyName;
+
+	/**
+	 * Constructor for HttpConnection.
+	 *
+	 * @param propertyName The name of the connection metric.
+	 */
+	HttpConnection(String propertyName) {
+		this.propertyName = propertyName;
+	}
+
+	/**
+	 * Retrieves {@link #propertyName}
+	 *
+	 * @return value of {@link #propertyName}
+	 */
+	public String getPropertyName() {
+		return propertyName;
+	}
+}
@@ -0,0 +1,44 @@
+/*
+ *  Copyright (c) 2024 AVI-SPL, Inc. All Rights Reserved.
+ */
+
+package com.insightsystems.symphony.dal.dataprobe.common.metric;
+
+/**
+ * Enum representing the instrumented phases of the communication with the device.
+ *
+ * @author Harry / Symphony Dev Team<br>
+ * Created on 10/18/2026
+ * @since 1.0.0
+ */
+public enum PollPhase {
+	AUTHENTICATION("Authentication"),
+	COMBINED_RETRIEVE("CombinedRetrieve"),
+	MONITORING_RETRIEVE("MonitoringRetrieve"),
+	STATE_RETRIEVE("StateRetrieve"),
+	PARSING("Parsing"),
+	STATISTICS_BUILD("StatisticsBuild"),
+	CONTROL("Control");
+
+	public static final String GROUP = "Performance";
+
+	private final String propertyName;
+
+	/**
+	 * Constructor for PollPhase.
+	 *
+	 * @param propertyName The name of the phase in the statistics and the MBean attributes.
+	 */
+	PollPhase(String propertyName) {
+		this.propertyName = propertyName;
+	}
+
+	/**
+	 * Retrieves {@link #propertyName}
+	 *
+	 * @return value of {@link #propertyName}
+	 */
+	public String getPropertyName() {
+		return propertyName;
+	}
+}
@@ -0,0 +1,724 @@
+/*
+ *  Copyright (c) 2024 AVI-SPL, Inc. All Rights Reserved.
+ */
+
+package com.insightsystems.dal.dataprobe;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import com.insightsystems.symphony.dal.dataprobe.DataprobeiBootPDUCommunicator;
+import com.insightsystems.symphony.dal.dataprobe.common.DataprobeConstant;
+import org.junit.Assert;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.avispl.symphony.api.dal.dto.control.AdvancedControllableProperty;
+import com.avispl.symphony.api.dal.dto.control.ControllableProperty;
+import com.avispl.symphony.api.dal.dto.monitor.ExtendedStatistics;
+
+/**
+ * DataprobeiBootPDUCommunicator against an {@link IBootPDUSimulator} with 24 outlets, 3 groups and 2 sequences
+ *
+ * @author Harry / Symphony Dev Team<br>
+ * Created on 10/18/2026
+ * @since 1.0.0
+ */
+@Tag("Mock")
+public class DataprobeiBootPDUSimulatorTest {
+	private IBootPDUSimulator simulator;
+	private DataprobeiBootPDUCommunicator dataprobeiBootPDUCommunicator;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		simulator = new IBootPDUSimulator(24, 3, 2);
+		dataprobeiBootPDUCommunicator = new DataprobeiBootPDUCommunicator();
+		dataprobeiBootPDUCommunicator.setHost("127.0.0.1");
+		dataprobeiBootPDUCommunicator.setPort(simulator.start());
+		dataprobeiBootPDUCommunicator.setProtocol("http");
+		dataprobeiBootPDUCommunicator.setLogin(IBootPDUSimulator.LOGIN);
+		dataprobeiBootPDUCommunicator.setPassword(IBootPDUSimulator.PASSWORD);
+		dataprobeiBootPDUCommunicator.setControlBatchWindow(0);
+		dataprobeiBootPDUCommunicator.init();
+	}
+
+	@AfterEach
+	void destroy() throws Exception {
+		dataprobeiBootPDUCommunicator.disconnect();
+		dataprobeiBootPDUCommunicator.destroy();
+		simulator.close();
+	}
+
+	@Test
+	void testGetMultipleStatistics() throws Exception {
+		Map<String, String> stats = getStatistics();
+		Assert.assertEquals("Outlet 1", stats.get("Outlet_1#Name"));
+		Assert.assertEquals("Outlet 24", stats.get("Outlet_24#Name"));
+		Assert.assertEquals("On", stats.get("Outlet_24#Status"));
+		Assert.assertEquals("On", stats.get("Group_group03#Status"));
+		Assert.assertEquals(1, simulator.getAuthenticationCount());
+	}
+
+	@Test
+	void testAnalogPrecision() throws Exception {
+		Map<String, String> stats = getStatistics();
+		Assert.assertTrue(stats.get("VoltageLV1(V)"), stats.get("VoltageLV1(V)").matches("\\d+\\.\\d"));
+		Assert.assertTrue(stats.get("CurrentLC1(mA)"), stats.get("CurrentLC1(mA)").matches("\\d+"));
+	}
+
+	@Test
+	void testHistoricalDeadband() throws Exception {
+		dataprobeiBootPDUCommunicator.destroy();
+		dataprobeiBootPDUCommunicator.setHistoricalProperties("VoltageLV1(V),CurrentLC1(mA)");
+		dataprobeiBootPDUCommunicator.setHistoricalDeadbands("VoltageLV1(V):5,CurrentLC1(mA):10%");
+		dataprobeiBootPDUCommunicator.setHistoricalHeartbeat(1);
+		dataprobeiBootPDUCommunicator.init();
+		ExtendedStatistics stats = getExtendedStatistics();
+		Assert.assertNotNull(stats.getDynamicStatistics().get("VoltageLV1(V)"));
+		Assert.assertNotNull(stats.getDynamicStatistics().get("CurrentLC1(mA)"));
+		Assert.assertNull(stats.getStatistics().get("VoltageLV1(V)"));
+
+		stats = getExtendedStatistics();
+		Assert.assertNull(stats.getDynamicStatistics().get("VoltageLV1(V)"));
+		Assert.assertNull(stats.getDynamicStatistics().get("CurrentLC1(mA)"));
+
+		for (int i = 1; i <= 12; i++) {
+			simulator.setOutletState(String.valueOf(i), false);
+		}
+		stats = getExtendedStatistics();
+		Assert.assertNull(stats.getDynamicStatistics().get("VoltageLV1(V)"));
+		Assert.assertNotNull(stats.getDynamicStatistics().get("CurrentLC1(mA)"));
+
+		Thread.sleep(1100);
+		stats = getExtendedStatistics();
+		Assert.assertNotNull(stats.getDynamicStatistics().get("VoltageLV1(V)"));
+	}
+
+	@Test
+	void testAnalogAggregatePrecision() throws Exception {
+		dataprobeiBootPDUCommunicator.destroy();
+		dataprobeiBootPDUCommunicator.setAnalogAggregateWindows("1m");
+		dataprobeiBootPDUCommunicator.init();
+		Map<String, String> stats = null;
+		for (int i = 0; i < 3; i++) {
+			stats = getStatistics();
+		}
+		for (String aggregate : new String[] { "Min1m", "Max1m", "Avg1m" }) {
+			String voltage = stats.get("VoltageLV1(V)#" + aggregate);
+			Assert.assertTrue(voltage, voltage.matches("\\d+\\.\\d"));
+			String current = stats.get("CurrentLC1(mA)#" + aggregate);
+			Assert.assertTrue(current, current.matches("\\d+"));
+		}
+	}
+
+	@Test
+	void testAnalogSamplingPrecision() throws Exception {
+		dataprobeiBootPDUCommunicator.destroy();
+		dataprobeiBootPDUCommunicator.setAnalogSamplingInterval(200);
+		dataprobeiBootPDUCommunicator.init();
+		getStatistics();
+		ControllableProperty cp = new ControllableProperty();
+		cp.setProperty("AnalogSampling#Control");
+		cp.setValue("1");
+		dataprobeiBootPDUCommunicator.controlProperty(cp);
+		Thread.sleep(1000);
+		Map<String, String> stats = getStatistics();
+		Assert.assertTrue(Integer.parseInt(stats.get("AnalogSampling#SampleCount")) > 1);
+		for (String aggregate : new String[] { "SampleMin", "SampleMax", "SampleAvg" }) {
+			String voltage = stats.get("VoltageLV1(V)#" + aggregate);
+			Assert.assertTrue(voltage, voltage.matches("\\d+\\.\\d"));
+			String current = stats.get("CurrentLC1(mA)#" + aggregate);
+			Assert.assertTrue(current, current.matches("\\d+"));
+		}
+	}
+
+	@Test
+	void testControlOutlet() throws Exception {
+		getStatistics();
+		simulator.setOutletState("3", false);
+		Assert.assertEquals("Off", getStatistics().get("Group_group03#Status"));
+
+		ControllableProperty cp = new ControllableProperty();
+		cp.setProperty("Outlet_3#Control");
+		cp.setValue("1");
+		long requests = simulator.getRetrieveCount();
+		dataprobeiBootPDUCommunicator.controlProperty(cp);
+		for (int i = 0; i < 50 && (simulator.getControlCount() == 0 || simulator.getRetrieveCount() == requests); i++) {
+			Thread.sleep(100);
+		}
+		Thread.sleep(100);
+		Assert.assertEquals("On", simulator.getOutletState("3"));
+		Assert.assertEquals("On", getStatistics().get("Outlet_3#Status"));
+	}
+
+	@Test
+	void testConnectionReuse() throws Exception {
+		Map<String, String> stats = null;
+		for (int i = 0; i < 10; i++) {
+			stats = getStatistics();
+		}
+		Assert.assertTrue(simulator.getRetrieveCount() >= 10);
+		Assert.assertEquals(1, simulator.getConnectionCount());
+		Assert.assertEquals("1", stats.get("HttpConnection#ConnectionsCreated"));
+		Assert.assertTrue(Long.parseLong(stats.get("HttpConnection#ConnectionsReused")) >= 9);
+		Assert.assertEquals("0", stats.get("HttpConnection#TLSFullHandshakes"));
+	}
+
+	@Test
+	void testUnchangedPollsArePublishedOnce() throws Exception {
+		simulator.setAnalogNoise(false);
+		ExtendedStatistics first = getExtendedStatistics();
+		ExtendedStatistics second = getExtendedStatistics();
+		Assert.assertSame(first, second);
+		Assert.assertNotNull(second.getStatistics().get("Performance#StateRetrieveCount"));
+		Assert.assertNotNull(second.getStatistics().get("HttpConnection#Requests"));
+
+		dataprobeiBootPDUCommunicator.destroy();
+		dataprobeiBootPDUCommunicator.setDeltaStatistics(true);
+		dataprobeiBootPDUCommunicator.init();
+		getStatistics();
+		Assert.assertEquals(DataprobeConstant.TRUE, getStatistics().get(DataprobeConstant.STATISTICS_UNCHANGED));
+		simulator.setOutletState("3", false);
+		Map<String, String> delta = getStatistics();
+		Assert.assertEquals("Off", delta.get("Outlet_3#Status"));
+		Assert.assertNull(delta.get("Outlet_1#Status"));
+	}
+
+	@Test
+	void testDeltaStatistics() throws Exception {
+		simulator.setAnalogNoise(false);
+		dataprobeiBootPDUCommunicator.destroy();
+		dataprobeiBootPDUCommunicator.setDeltaStatistics(true);
+		dataprobeiBootPDUCommunicator.init();
+		Assert.assertEquals("0", getStatistics().get("DeviceAvailability#ConsecutiveFailures"));
+
+		simulator.setErrors(1, 500);
+		Map<String, String> delta = getStatistics();
+		Assert.assertEquals("1", delta.get("DeviceAvailability#ConsecutiveFailures"));
+		Assert.assertEquals("true", delta.get("DeviceAvailability#Stale"));
+		Assert.assertNull(delta.get("Outlet_1#Status"));
+		Assert.assertNull(delta.get("VoltageLV1(V)"));
+
+		simulator.setErrors(0, 500);
+		Map<String, String> stats = getStatistics();
+		Assert.assertEquals("0", stats.get("DeviceAvailability#ConsecutiveFailures"));
+		Assert.assertEquals("false", stats.get("DeviceAvailability#Stale"));
+		Assert.assertNull(stats.get("DeviceAvailability#DataAgeInS"));
+		Assert.assertEquals("On", stats.get("Outlet_1#Status"));
+		Assert.assertEquals(DataprobeConstant.TRUE, getStatistics().get(DataprobeConstant.STATISTICS_UNCHANGED));
+	}
+
+	@Test
+	void testDeltaStatisticsAfterPartialFailure() throws Exception {
+		simulator.setAnalogNoise(false);
+		dataprobeiBootPDUCommunicator.destroy();
+		dataprobeiBootPDUCommunicator.setDeltaStatistics(true);
+		dataprobeiBootPDUCommunicator.init();
+		getStatistics();
+
+		simulator.setFailedSections("outlets");
+		Map<String, String> delta = getStatistics();
+		Assert.assertEquals("true", delta.get("DeviceAvailability#StatesStale"));
+		Assert.assertNotNull(delta.get("DeviceAvailability#StatesDataAgeInS"));
+		Assert.assertNull(delta.get("Outlet_1#Status"));
+
+		simulator.setFailedSections();
+		simulator.setOutletState("3", false);
+		Map<String, String> stats = getStatistics();
+		Assert.assertEquals("false", stats.get("DeviceAvailability#StatesStale"));
+		Assert.assertFalse(stats.containsKey("DeviceAvailability#StatesDataAgeInS"));
+		Assert.assertEquals("Off", stats.get("Outlet_3#Status"));
+		Assert.assertEquals("On", stats.get("Outlet_1#Status"));
+		Assert.assertNull(stats.get(DataprobeConstant.STATISTICS_UNCHANGED));
+		Assert.assertEquals(DataprobeConstant.TRUE, getStatistics().get(DataprobeConstant.STATISTICS_UNCHANGED));
+	}
+
+	@Test
+	void testSnapshotPublication() throws Exception {
+		ExtendedStatistics first = getExtendedStatistics();
+		Assert.assertThrows(UnsupportedOperationException.class, () -> first.getStatistics().put("Outlet_3#Status", "Off"));
+		Assert.assertThrows(UnsupportedOperationException.class, () -> first.getControllableProperties().clear());
+
+		simulator.setOutletState("3", false);
+		ExtendedStatistics second = getExtendedStatistics();
+		Assert.assertNotSame(first, second);
+		Assert.assertEquals("On", first.getStatistics().get("Outlet_3#Status"));
+		Assert.assertEquals("Off", second.getStatistics().get("Outlet_3#Status"));
+		Assert.assertEquals("1", String.valueOf(getControllableProperty(first, "Outlet_3#Control").getValue()));
+	}
+
+	@Test
+	void testBackgroundPolling() throws Exception {
+		dataprobeiBootPDUCommunicator.destroy();
+		dataprobeiBootPDUCommunicator.setBackgroundPolling(true);
+		dataprobeiBootPDUCommunicator.setPollingInterval(1000);
+		dataprobeiBootPDUCommunicator.init();
+		getStatistics();
+		simulator.setLatency(500, 0);
+		simulator.setOutletState("3", false);
+		long requests = simulator.getRetrieveCount();
+		long startTime = System.currentTimeMillis();
+		Assert.assertEquals("On", getStatistics().get("Outlet_3#Status"));
+		Assert.assertTrue(System.currentTimeMillis() - startTime < 400);
+		Assert.assertEquals(requests, simulator.getRetrieveCount());
+
+		for (int i = 0; i < 50 && !"Off".equals(getStatistics().get("Outlet_3#Status")); i++) {
+			Thread.sleep(100);
+		}
+		Assert.assertEquals("Off", getStatistics().get("Outlet_3#Status"));
+		Assert.assertTrue(simulator.getRetrieveCount() > requests);
+	}
+
+	@Test
+	void testAdaptivePollingIgnoresAnalogNoise() throws Exception {
+		dataprobeiBootPDUCommunicator.destroy();
+		dataprobeiBootPDUCommunicator.setBackgroundPolling(true);
+		dataprobeiBootPDUCommunicator.setAdaptivePolling(true);
+		dataprobeiBootPDUCommunicator.setMinPollingInterval(1000);
+		dataprobeiBootPDUCommunicator.setMaxPollingInterval(4000);
+		dataprobeiBootPDUCommunicator.setPollingJitter(0);
+		dataprobeiBootPDUCommunicator.setAnalogAggregateWindows("1m");
+		dataprobeiBootPDUCommunicator.init();
+		getStatistics();
+		long requests = simulator.getRetrieveCount();
+		Thread.sleep(5500);
+		// the interval grows from 1 s by half after each poll, about 5 polls would be sent if the noise counted as a change
+		Assert.assertTrue(simulator.getRetrieveCount() - requests <= 3);
+	}
+
+	@Test
+	void testTopologyCache() throws Exception {
+		getStatistics();
+		getStatistics();
+		simulator.setOutletName("1", "Projector");
+		Assert.assertEquals("Outlet 1", getStatistics().get("Outlet_1#Name"));
+		Assert.assertEquals(1, simulator.getNamesRetrieveCount());
+
+		dataprobeiBootPDUCommunicator.setTopologyRefreshInterval(0);
+		Assert.assertEquals("Projector", getStatistics().get("Outlet_1#Name"));
+		Assert.assertEquals(2, simulator.getNamesRetrieveCount());
+	}
+
+	@Test
+	void testControllablePropertyReuse() throws Exception {
+		ExtendedStatistics first = getExtendedStatistics();
+		simulator.setOutletState("3", false);
+		ExtendedStatistics second = getExtendedStatistics();
+		Assert.assertEquals(first.getControllableProperties().size(), second.getControllableProperties().size());
+		Assert.assertSame(getControllableProperty(first, "Outlet_1#Control"), getControllableProperty(second, "Outlet_1#Control"));
+		Assert.assertSame(getControllableProperty(first, "Outlet_1#Cycle"), getControllableProperty(second, "Outlet_1#Cycle"));
+		Assert.assertNotSame(getControllableProperty(first, "Outlet_3#Control"), getControllableProperty(second, "Outlet_3#Control"));
+		Assert.assertEquals("0", String.valueOf(getControllableProperty(second, "Outlet_3#Control").getValue()));
+		Assert.assertEquals("1", String.valueOf(getControllableProperty(first, "Outlet_3#Control").getValue()));
+	}
+
+	@Test
+	void testControllablePropertyIndex() throws Exception {
+		getStatistics();
+		dataprobeiBootPDUCommunicator.setHistoricalProperties("CurrentLC1(mA)");
+		getStatistics();
+
+		ControllableProperty cp = new ControllableProperty();
+		cp.setProperty("Outlet_5#Control");
+		cp.setValue("0");
+		dataprobeiBootPDUCommunicator.controlProperty(cp);
+		for (int i = 0; i < 50 && simulator.getControlCount() == 0; i++) {
+			Thread.sleep(100);
+		}
+		ExtendedStatistics extendedStatistics = getExtendedStatistics();
+		Set<String> names = new HashSet<>();
+		for (AdvancedControllableProperty property : extendedStatistics.getControllableProperties()) {
+			Assert.assertTrue(property.getName(), names.add(property.getName()));
+		}
+		Assert.assertEquals("0", String.valueOf(getControllableProperty(extendedStatistics, "Outlet_5#Control").getValue()));
+		Assert.assertEquals("1", String.valueOf(getControllableProperty(extendedStatistics, "Outlet_4#Control").getValue()));
+		Assert.assertEquals("1", String.valueOf(getControllableProperty(extendedStatistics, "Outlet_6#Control").getValue()));
+		Assert.assertEquals("0", extendedStatistics.getStatistics().get("Outlet_5#Control"));
+	}
+
+	@Test
+	void testControlDoesNotWaitForTheDevice() throws Exception {
+		getStatistics();
+		simulator.setLatency(500, 0);
+		ControllableProperty cp = new ControllableProperty();
+		cp.setProperty("Outlet_2#Control");
+		cp.setValue("0");
+		long startTime = System.currentTimeMillis();
+		dataprobeiBootPDUCommunicator.controlProperty(cp);
+		Assert.assertTrue(System.currentTimeMillis() - startTime < 500);
+		Assert.assertEquals("On", simulator.getOutletState("2"));
+		for (int i = 0; i < 50 && simulator.getControlCount() == 0; i++) {
+			Thread.sleep(100);
+		}
+		Assert.assertEquals("Off", simulator.getOutletState("2"));
+	}
+
+	@Test
+	void testIdleInstancesHoldNoControlThread() throws Exception {
+		long controlThreads = countControlThreads();
+		List<DataprobeiBootPDUCommunicator> communicators = new ArrayList<>();
+		try {
+			for (int i = 0; i < 5; i++) {
+				DataprobeiBootPDUCommunicator communicator = new DataprobeiBootPDUCommunicator();
+				communicator.setHost("127.0.0.1");
+				communicator.setPort(dataprobeiBootPDUCommunicator.getPort());
+				communicator.setProtocol("http");
+				communicator.setLogin(IBootPDUSimulator.LOGIN);
+				communicator.setPassword(IBootPDUSimulator.PASSWORD);
+				communicator.init();
+				communicators.add(communicator);
+			}
+			Thread.sleep(200);
+			Assert.assertEquals(controlThreads, countControlThreads());
+		} finally {
+			for (DataprobeiBootPDUCommunicator communicator : communicators) {
+				communicator.destroy();
+			}
+		}
+		getStatistics();
+		dataprobeiBootPDUCommunicator.controlProperty(outletControl(2, "0"));
+		for (int i = 0; i < 50 && simulator.getControlCount() == 0; i++) {
+			Thread.sleep(100);
+		}
+		Assert.assertEquals("Off", simulator.getOutletState("2"));
+		Assert.assertTrue(countControlThreads() <= 8);
+	}
+
+	@Test
+	void testControlQueueFull() throws Exception {
+		dataprobeiBootPDUCommunicator.destroy();
+		dataprobeiBootPDUCommunicator.setControlQueueSize(1);
+		dataprobeiBootPDUCommunicator.init();
+		getStatistics();
+		simulator.setLatency(500, 0);
+		int rejected = 0;
+		for (int i = 1; i <= 3; i++) {
+			ControllableProperty cp = new ControllableProperty();
+			cp.setProperty("Outlet_" + i + "#Control");
+			cp.setValue(String.valueOf(i % 2));
+			try {
+				dataprobeiBootPDUCommunicator.controlProperty(cp);
+			} catch (IllegalStateException e) {
+				rejected++;
+			}
+		}
+		Assert.assertTrue(rejected >= 1);
+	}
+
+	@Test
+	void testControlBatching() throws Exception {
+		dataprobeiBootPDUCommunicator.destroy();
+		dataprobeiBootPDUCommunicator.setControlBatchWindow(300);
+		dataprobeiBootPDUCommunicator.init();
+		getStatistics();
+		for (int i = 1; i <= 3; i++) {
+			dataprobeiBootPDUCommunicator.controlProperty(outletControl(i, "0"));
+		}
+		for (int i = 0; i < 50 && simulator.getControlCount() == 0; i++) {
+			Thread.sleep(100);
+		}
+		Thread.sleep(300);
+		Assert.assertEquals(1, simulator.getControlCount());
+		for (int i = 1; i <= 3; i++) {
+			Assert.assertEquals("Off", simulator.getOutletState(String.valueOf(i)));
+		}
+	}
+
+	@Test
+	void testPendingControlsOfTheSameProperty() throws Exception {
+		dataprobeiBootPDUCommunicator.destroy();
+		dataprobeiBootPDUCommunicator.setBackgroundPolling(true);
+		dataprobeiBootPDUCommunicator.init();
+		getStatistics();
+		simulator.setLatency(500, 0);
+		dataprobeiBootPDUCommunicator.controlProperty(outletControl(4, "0"));
+		dataprobeiBootPDUCommunicator.controlProperty(outletControl(4, "1"));
+		for (int i = 0; i < 50 && simulator.getControlCount() == 0; i++) {
+			Thread.sleep(20);
+		}
+		Thread.sleep(700);
+		Assert.assertEquals("Off", simulator.getOutletState("4"));
+		Assert.assertEquals("1", getStatistics().get("Outlet_4#Control"));
+		for (int i = 0; i < 100 && simulator.getControlCount() < 2; i++) {
+			Thread.sleep(20);
+		}
+		Assert.assertEquals("On", simulator.getOutletState("4"));
+	}
+
+	@Test
+	void testControlRefreshesGroups() throws Exception {
+		dataprobeiBootPDUCommunicator.destroy();
+		dataprobeiBootPDUCommunicator.setBackgroundPolling(true);
+		dataprobeiBootPDUCommunicator.init();
+		Assert.assertEquals("On", getStatistics().get("Group_group03#Status"));
+		long requests = simulator.getRetrieveCount();
+		dataprobeiBootPDUCommunicator.controlProperty(outletControl(3, "0"));
+		for (int i = 0; i < 50 && simulator.getRetrieveCount() == requests; i++) {
+			Thread.sleep(100);
+		}
+		Thread.sleep(200);
+		Map<String, String> stats = getStatistics();
+		Assert.assertEquals("Off", stats.get("Outlet_3#Status"));
+		Assert.assertEquals("Off", stats.get("Group_group03#Status"));
+	}
+
+	@Test
+	void testPollAfterControlRetrievesTheDevice() throws Exception {
+		getStatistics();
+		dataprobeiBootPDUCommunicator.controlProperty(outletControl(6, "0"));
+		for (int i = 0; i < 50 && simulator.getControlCount() == 0; i++) {
+			Thread.sleep(100);
+		}
+		Thread.sleep(200);
+		simulator.setOutletState("7", false);
+		Map<String, String> stats = getStatistics();
+		Assert.assertEquals("Off", stats.get("Outlet_6#Status"));
+		Assert.assertEquals("Off", stats.get("Outlet_7#Status"));
+	}
+
+	@Test
+	void testPollInFlightDuringControl() throws Exception {
+		getStatistics();
+		simulator.setRetrieveResponseDelay(600);
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Future<Map<String, String>> poll = executor.submit(this::getStatistics);
+			Thread.sleep(100);
+			dataprobeiBootPDUCommunicator.controlProperty(outletControl(8, "0"));
+			Assert.assertEquals("0", poll.get(5, TimeUnit.SECONDS).get("Outlet_8#Control"));
+		} finally {
+			executor.shutdownNow();
+		}
+		simulator.setRetrieveResponseDelay(0);
+		Thread.sleep(1000);
+		Map<String, String> stats = getStatistics();
+		Assert.assertEquals("Off", simulator.getOutletState("8"));
+		Assert.assertEquals("0", stats.get("Outlet_8#Control"));
+		Assert.assertEquals("Off", stats.get("Outlet_8#Status"));
+	}
+
+	@Test
+	void testStalePollKeepsRefreshedStates() throws Exception {
+		getStatistics();
+		simulator.setRetrieveResponseDelay(800);
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Future<Map<String, String>> poll = executor.submit(this::getStatistics);
+			Thread.sleep(100);
+			simulator.setRetrieveResponseDelay(0);
+			dataprobeiBootPDUCommunicator.controlProperty(outletControl(8, "0"));
+			for (int i = 0; i < 25 && !"Off".equals(getStatistics().get("Outlet_8#Status")); i++) {
+				Thread.sleep(20);
+			}
+			Assert.assertFalse(poll.isDone());
+			Assert.assertEquals("Off", getStatistics().get("Outlet_8#Status"));
+			Map<String, String> stats = poll.get(5, TimeUnit.SECONDS);
+			Assert.assertEquals("Off", stats.get("Outlet_8#Status"));
+			Assert.assertEquals("0", stats.get("Outlet_8#Control"));
+		} finally {
+			executor.shutdownNow();
+		}
+		Assert.assertEquals("Off", getStatistics().get("Outlet_8#Status"));
+	}
+
+	@Test
+	void testTokenExpiry() throws Exception {
+		simulator.setTokenTimeout(500);
+		getStatistics();
+		Thread.sleep(600);
+		getStatistics();
+		simulator.invalidateTokens();
+		Assert.assertEquals("On", getStatistics().get("Outlet_1#Status"));
+		Assert.assertEquals(3, simulator.getAuthenticationCount());
+	}
+
+	@Test
+	void testTokenRefreshAhead() throws Exception {
+		simulator.setTokenTimeout(2000);
+		dataprobeiBootPDUCommunicator.setTokenTimeout(2);
+		getStatistics();
+		Thread.sleep(1700);
+		Assert.assertEquals("On", getStatistics().get("Outlet_1#Status"));
+		for (int i = 0; i < 50 && simulator.getAuthenticationCount() < 2; i++) {
+			Thread.sleep(20);
+		}
+		Assert.assertEquals(2, simulator.getAuthenticationCount());
+		Thread.sleep(500);
+		Assert.assertEquals("On", getStatistics().get("Outlet_1#Status"));
+		Assert.assertEquals(2, simulator.getAuthenticationCount());
+		long refreshThreads = Thread.getAllStackTraces().keySet().stream().filter(thread -> thread.getName().startsWith("Dataprobe token refresh")).count();
+		Assert.assertTrue(refreshThreads <= 4);
+	}
+
+	@Test
+	void testCombinedRetrieve() throws Exception {
+		getStatistics();
+		long requests = simulator.getRetrieveCount();
+		simulator.setOutletState("3", false);
+		Assert.assertEquals("Off", getStatistics().get("Outlet_3#Status"));
+		Assert.assertEquals(requests + 1, simulator.getRetrieveCount());
+	}
+
+	@Test
+	void testCombinedRetrieveFallback() throws Exception {
+		getStatistics();
+		simulator.setCombinedRetrieveStatus(400);
+		simulator.setOutletState("3", false);
+		long requests = simulator.getRetrieveCount();
+		Map<String, String> stats = getStatistics();
+		Assert.assertEquals("Off", stats.get("Outlet_3#Status"));
+		Assert.assertEquals("false", stats.get("DeviceAvailability#Stale"));
+		Assert.assertEquals(requests + 3, simulator.getRetrieveCount());
+
+		requests = simulator.getRetrieveCount();
+		long errors = simulator.getErrorCount();
+		getStatistics();
+		Assert.assertEquals(requests + 2, simulator.getRetrieveCount());
+		Assert.assertEquals(errors, simulator.getErrorCount());
+	}
+
+	@Test
+	void testCombinedRetrieveServerError() throws Exception {
+		getStatistics();
+		simulator.setCombinedRetrieveStatus(500);
+		simulator.setOutletState("3", false);
+		long requests = simulator.getRetrieveCount();
+		Map<String, String> stats = getStatistics();
+		Assert.assertEquals("On", stats.get("Outlet_3#Status"));
+		Assert.assertEquals("true", stats.get("DeviceAvailability#Stale"));
+		Assert.assertEquals(requests + 1, simulator.getRetrieveCount());
+
+		simulator.setCombinedRetrieveStatus(0);
+		requests = simulator.getRetrieveCount();
+		stats = getStatistics();
+		Assert.assertEquals("Off", stats.get("Outlet_3#Status"));
+		Assert.assertEquals("false", stats.get("DeviceAvailability#Stale"));
+		Assert.assertEquals(requests + 1, simulator.getRetrieveCount());
+	}
+
+	@Test
+	void testErrorResponses() throws Exception {
+		getStatistics();
+		simulator.setErrors(1, 500);
+		Map<String, String> stats = getStatistics();
+		Assert.assertEquals("On", stats.get("Outlet_1#Status"));
+		Assert.assertEquals("true", stats.get("DeviceAvailability#Stale"));
+		Assert.assertEquals("true", stats.get("DeviceAvailability#MonitoringStale"));
+		Assert.assertEquals("true", stats.get("DeviceAvailability#StatesStale"));
+		Assert.assertEquals("Closed", stats.get("DeviceAvailability#CircuitState"));
+		Assert.assertNull(stats.get("DeviceAvailability#NextProbeInS"));
+		simulator.setErrors(1, 200);
+		Assert.assertEquals("2", getStatistics().get("DeviceAvailability#ConsecutiveFailures"));
+		simulator.setErrors(0, 500);
+		stats = getStatistics();
+		Assert.assertEquals("On", stats.get("Outlet_1#Status"));
+		Assert.assertEquals("false", stats.get("DeviceAvailability#Stale"));
+		Assert.assertEquals("false", stats.get("DeviceAvailability#StatesStale"));
+	}
+
+	@Test
+	void testErrorBeforeTheFirstStatistics() throws Exception {
+		dataprobeiBootPDUCommunicator.destroy();
+		simulator.setErrors(1, 500);
+		dataprobeiBootPDUCommunicator.init();
+		Assert.assertThrows(Exception.class, this::getStatistics);
+	}
+
+	@Test
+	void testCircuitBreaker() throws Exception {
+		dataprobeiBootPDUCommunicator.destroy();
+		dataprobeiBootPDUCommunicator.setCircuitBreakerThreshold(2);
+		dataprobeiBootPDUCommunicator.setCircuitBreakerMinBackoff(1000);
+		dataprobeiBootPDUCommunicator.init();
+		Assert.assertEquals("false", getStatistics().get("DeviceAvailability#Stale"));
+
+		simulator.setErrors(1, 500);
+		Map<String, String> stats = getStatistics();
+		Assert.assertEquals("Closed", stats.get("DeviceAvailability#CircuitState"));
+		Assert.assertEquals("true", stats.get("DeviceAvailability#Stale"));
+		stats = getStatistics();
+		Assert.assertEquals("Open", stats.get("DeviceAvailability#CircuitState"));
+		Assert.assertEquals("true", stats.get("DeviceAvailability#Stale"));
+		Assert.assertEquals("On", stats.get("Outlet_1#Status"));
+		long requests = simulator.getRetrieveCount() + simulator.getAuthenticationCount();
+		getStatistics();
+		Assert.assertEquals(requests, simulator.getRetrieveCount() + simulator.getAuthenticationCount());
+
+		ControllableProperty cp = new ControllableProperty();
+		cp.setProperty("Outlet_3#Control");
+		cp.setValue("0");
+		Assert.assertThrows(Exception.class, () -> dataprobeiBootPDUCommunicator.controlProperty(cp));
+
+		simulator.setErrors(0, 500);
+		Thread.sleep(1200);
+		stats = getStatistics();
+		Assert.assertEquals("Closed", stats.get("DeviceAvailability#CircuitState"));
+		Assert.assertEquals("false", stats.get("DeviceAvailability#Stale"));
+		Assert.assertNull(stats.get("DeviceAvailability#DataAgeInS"));
+	}
+
+	@Test
+	void testPartialFailure() throws Exception {
+		getStatistics();
+		simulator.setFailedSections("outlets");
+		simulator.setOutletState("3", false);
+		Map<String, String> stats = getStatistics();
+		Assert.assertEquals("On", stats.get("Outlet_3#Status"));
+		Assert.assertEquals("true", stats.get("DeviceAvailability#StatesStale"));
+		Assert.assertNotNull(stats.get("DeviceAvailability#StatesDataAgeInS"));
+		Assert.assertEquals("false", stats.get("DeviceAvailability#MonitoringStale"));
+		Assert.assertEquals("Closed", stats.get("DeviceAvailability#CircuitState"));
+
+		simulator.setFailedSections();
+		stats = getStatistics();
+		Assert.assertEquals("Off", stats.get("Outlet_3#Status"));
+		Assert.assertEquals("false", stats.get("DeviceAvailability#StatesStale"));
+		Assert.assertNull(stats.get("DeviceAvailability#StatesDataAgeInS"));
+	}
+
+	@Test
+	void testLatency() throws Exception {
+		simulator.setLatency(200, 50);
+		long startTime = System.currentTimeMillis();
+		getStatistics();
+		Assert.assertTrue(System.currentTimeMillis() - startTime >= 200);
+	}
+
+	private ControllableProperty outletControl(int outlet, String value) {
+		ControllableProperty cp = new ControllableProperty();
+		cp.setProperty("Outlet_" + outlet + "#Control");
+		cp.setValue(value);
+		return cp;
+	}
+
+	private long countControlThreads() {
+		return Thread.getAllStackTraces().keySet().stream().filter(thread -> thread.getName().startsWith("Dataprobe control worker")).count();
+	}
+
+	private Map<String, String> getStatistics() throws Exception {
+		return getExtendedStatistics().getStatistics();
+	}
+
+	private ExtendedStatistics getExtendedStatistics() throws Exception {
+		return (ExtendedStatistics) dataprobeiBootPDUCommunicator.getMultipleStatistics().get(0);
+	}
+
+	private AdvancedControllableProperty getControllableProperty(ExtendedStatistics extendedStatistics, String name) {
+		for (AdvancedControllableProperty property : extendedStatistics.getControllableProperties()) {
+			if (name.equals(property.getName())) {
+				return property;
+			}
+		}
+		Assert.fail("Missing controllable property " + name);
+		return null;
+	}
+}
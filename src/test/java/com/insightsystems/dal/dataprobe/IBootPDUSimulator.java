@@ -0,0 +1,599 @@
+/*
+ *  Copyright (c) 2024 AVI-SPL, Inc. All Rights Reserved.
+ */
+
+package com.insightsystems.dal.dataprobe;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * In-process stand-in for an iBoot PDU, serving services/auth/, services/retrieve/ and services/control/ over HTTP on the loopback interface.
+ * The numbers of outlets, groups and sequences are configurable; the outlets are spread evenly over the groups.
+ * Latency, token expiry and error responses can be injected to test the adapter without hardware.
+ * The requests are handled by a pool of threads, so one simulator can serve many adapter instances at once.
+ *
+ * @author Harry / Symphony Dev Team<br>
+ * Created on 10/18/2026
+ * @since 1.0.0
+ */
+public class IBootPDUSimulator implements Closeable {
+	public static final String LOGIN = "admin";
+	public static final String PASSWORD = "admin";
+
+	private static final String SUCCESS = "success";
+	private static final String MESSAGE = "message";
+	private static final String ON = "On";
+	private static final String OFF = "Off";
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final Map<String, String> outletNames = Collections.synchronizedMap(new LinkedHashMap<>());
+	private final Map<String, List<String>> groupOutlets = new LinkedHashMap<>();
+	private final Map<String, String> sequenceNames = new LinkedHashMap<>();
+	private final Map<String, String> outletStates = new ConcurrentHashMap<>();
+	private final Map<String, Long> tokens = new ConcurrentHashMap<>();
+	private final AtomicLong authenticationCount = new AtomicLong();
+	private final AtomicLong retrieveCount = new AtomicLong();
+	private final AtomicLong namesRetrieveCount = new AtomicLong();
+	private final AtomicLong controlCount = new AtomicLong();
+	private final AtomicLong errorCount = new AtomicLong();
+	private final Set<Integer> connections = ConcurrentHashMap.newKeySet();
+	private HttpServer server;
+	private ExecutorService executor;
+
+	private volatile long latency;
+	private volatile long latencyJitter;
+	private volatile long tokenTimeout;
+	private volatile double errorRate;
+	private volatile int errorStatus = 500;
+	private volatile Set<String> failedSections = new HashSet<>();
+	private volatile int combinedRetrieveStatus;
+	private volatile long retrieveResponseDelay;
+	private volatile boolean analogNoise = true;
+
+	/**
+	 * Constructs a new {@link IBootPDUSimulator}, with every outlet on.
+	 *
+	 * @param outlets the number of outlets
+	 * @param groups the number of groups, named "group01", "group02"...
+	 * @param sequences the number of sequences, named "01", "02"...
+	 */
+	public IBootPDUSimulator(int outlets, int groups, int sequences) {
+		for (int i = 1; i <= outlets; i++) {
+			String id = String.valueOf(i);
+			outletNames.put(id, id + " Outlet " + i);
+			outletStates.put(id, ON);
+		}
+		for (int i = 1; i <= groups; i++) {
+			List<String> members = new ArrayList<>();
+			for (int outlet = i; outlet <= outlets; outlet += groups) {
+				members.add(String.valueOf(outlet));
+			}
+			groupOutlets.put(String.format("group%02d", i), members);
+		}
+		for (int i = 1; i <= sequences; i++) {
+			sequenceNames.put(String.valueOf(i), String.format("%02d", i));
+		}
+	}
+
+	/**
+	 * Starts serving on an ephemeral port of 127.0.0.1
+	 *
+	 * @return the port
+	 * @throws IOException if the server can not be bound
+	 */
+	public int start() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		executor = Executors.newCachedThreadPool(runnable -> {
+			Thread thread = new Thread(runnable, "iBoot PDU simulator");
+			thread.setDaemon(true);
+			return thread;
+		});
+		server.setExecutor(executor);
+		server.createContext("/", this::handle);
+		server.start();
+		return getPort();
+	}
+
+	/**
+	 * Stops serving and drops the issued tokens
+	 */
+	@Override
+	public void close() {
+		if (server != null) {
+			server.stop(0);
+			server = null;
+		}
+		if (executor != null) {
+			executor.shutdownNow();
+			executor = null;
+		}
+		tokens.clear();
+	}
+
+	/**
+	 * @return the port the simulator is listening on
+	 */
+	public int getPort() {
+		return server.getAddress().getPort();
+	}
+
+	/**
+	 * Sets the delay before each response
+	 *
+	 * @param latency the delay in milliseconds
+	 * @param latencyJitter a random delay of up to this many milliseconds added to the latency
+	 */
+	public void setLatency(long latency, long latencyJitter) {
+		this.latency = latency;
+		this.latencyJitter = latencyJitter;
+	}
+
+	/**
+	 * Sets the lifetime of the tokens, after which the requests carrying them are answered "Invalid Token"
+	 *
+	 * @param tokenTimeout the lifetime in milliseconds, 0 for tokens that never expire
+	 */
+	public void setTokenTimeout(long tokenTimeout) {
+		this.tokenTimeout = tokenTimeout;
+	}
+
+	/**
+	 * Sets the share of requests answered with an error
+	 *
+	 * @param errorRate between 0 for no error and 1 for an error on every request
+	 * @param errorStatus the HTTP status of the errors, or 200 to answer with an unsuccessful JSON response
+	 */
+	public void setErrors(double errorRate, int errorStatus) {
+		this.errorRate = errorRate;
+		this.errorStatus = errorStatus;
+	}
+
+	/**
+	 * Drops the issued tokens, as a restart of the device would
+	 */
+	public void invalidateTokens() {
+		tokens.clear();
+	}
+
+	/**
+	 * Answers the retrieve requests asking for any of the given sections with an unsuccessful JSON response
+	 *
+	 * @param sections the failing sections, e.g. "outlets" or "analog", none to answer every retrieve request
+	 */
+	public void setFailedSections(String... sections) {
+		this.failedSections = new HashSet<>(Arrays.asList(sections));
+	}
+
+	/**
+	 * Delays the retrieve responses after the states were read, so they report the states at the time the request arrived
+	 *
+	 * @param retrieveResponseDelay the delay in milliseconds
+	 */
+	public void setRetrieveResponseDelay(long retrieveResponseDelay) {
+		this.retrieveResponseDelay = retrieveResponseDelay;
+	}
+
+	/**
+	 * Adds a random noise to the analog readings, like a real meter does
+	 *
+	 * @param analogNoise false to answer the same readings while the outlet states do not change
+	 */
+	public void setAnalogNoise(boolean analogNoise) {
+		this.analogNoise = analogNoise;
+	}
+
+	/**
+	 * Answers the retrieve requests asking for both the analog data and the outlet states with an HTTP error,
+	 * like a firmware that does not accept combined requests
+	 *
+	 * @param combinedRetrieveStatus the HTTP status, 0 to answer combined requests normally
+	 */
+	public void setCombinedRetrieveStatus(int combinedRetrieveStatus) {
+		this.combinedRetrieveStatus = combinedRetrieveStatus;
+	}
+
+	/**
+	 * Retrieves the state of an outlet
+	 *
+	 * @param outlet the outlet id
+	 * @return "On" or "Off", null for an unknown outlet
+	 */
+	public String getOutletState(String outlet) {
+		return outletStates.get(outlet);
+	}
+
+	/**
+	 * Changes the state of an outlet, as a local switch on the device would
+	 *
+	 * @param outlet the outlet id
+	 * @param on whether the outlet is on
+	 */
+	public void setOutletState(String outlet, boolean on) {
+		outletStates.replace(outlet, on ? ON : OFF);
+	}
+
+	/**
+	 * Renames an outlet, as the web interface of the device would
+	 *
+	 * @param outlet the outlet id
+	 * @param name the new name
+	 */
+	public void setOutletName(String outlet, String name) {
+		outletNames.replace(outlet, outlet + " " + name);
+	}
+
+	/**
+	 * @return the number of requests to services/auth/
+	 */
+	public long getAuthenticationCount() {
+		return authenticationCount.get();
+	}
+
+	/**
+	 * @return the number of requests to services/retrieve/
+	 */
+	public long getRetrieveCount() {
+		return retrieveCount.get();
+	}
+
+	/**
+	 * @return the number of requests to services/retrieve/ asking for the names
+	 */
+	public long getNamesRetrieveCount() {
+		return namesRetrieveCount.get();
+	}
+
+	/**
+	 * @return the number of requests to services/control/
+	 */
+	public long getControlCount() {
+		return controlCount.get();
+	}
+
+	/**
+	 * @return the number of injected errors
+	 */
+	public long getErrorCount() {
+		return errorCount.get();
+	}
+
+	/**
+	 * @return the number of distinct client connections that sent a request
+	 */
+	public int getConnectionCount() {
+		return connections.size();
+	}
+
+	/**
+	 * Handles a request, after the injected latency
+	 *
+	 * @param exchange the HTTP exchange
+	 * @throws IOException if the response can not be sent
+	 */
+	private void handle(HttpExchange exchange) throws IOException {
+		connections.add(exchange.getRemoteAddress().getPort());
+		try {
+			long delay = latency + (latencyJitter > 0 ? ThreadLocalRandom.current().nextLong(latencyJitter + 1) : 0);
+			if (delay > 0) {
+				Thread.sleep(delay);
+			}
+			String body = readBody(exchange.getRequestBody());
+			if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+				errorCount.incrementAndGet();
+				if (errorStatus != 200) {
+					exchange.sendResponseHeaders(errorStatus, -1);
+					return;
+				}
+				respond(exchange, failure("Simulated error"));
+				return;
+			}
+			JsonNode request;
+			try {
+				request = objectMapper.readTree(body);
+			} catch (IOException e) {
+				exchange.sendResponseHeaders(400, -1);
+				return;
+			}
+			String path = exchange.getRequestURI().getPath().replaceAll("/+", "/");
+			if (path.startsWith("/services/auth")) {
+				respond(exchange, authenticate(request));
+			} else if (!isValidToken(request.path("token").asText(null))) {
+				respond(exchange, failure("Invalid Token"));
+			} else if (path.startsWith("/services/retrieve")) {
+				if (combinedRetrieveStatus != 0 && request.has("analog") && request.has("outlets")) {
+					retrieveCount.incrementAndGet();
+					errorCount.incrementAndGet();
+					exchange.sendResponseHeaders(combinedRetrieveStatus, -1);
+					return;
+				}
+				ObjectNode response = retrieve(request);
+				if (retrieveResponseDelay > 0) {
+					Thread.sleep(retrieveResponseDelay);
+				}
+				respond(exchange, response);
+			} else if (path.startsWith("/services/control")) {
+				respond(exchange, control(request));
+			} else {
+				exchange.sendResponseHeaders(404, -1);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			exchange.close();
+		}
+	}
+
+	/**
+	 * Issues a token if the credentials are {@link #LOGIN} and {@link #PASSWORD}
+	 *
+	 * @param request the login request
+	 * @return the response
+	 */
+	private ObjectNode authenticate(JsonNode request) {
+		authenticationCount.incrementAndGet();
+		if (!LOGIN.equals(request.path("username").asText()) || !PASSWORD.equals(request.path("password").asText())) {
+			return failure("Invalid username or password");
+		}
+		String token = UUID.randomUUID().toString();
+		tokens.put(token, System.currentTimeMillis());
+		ObjectNode response = objectMapper.createObjectNode();
+		response.put(SUCCESS, true);
+		response.put("token", token);
+		return response;
+	}
+
+	/**
+	 * Checks that a token was issued and did not expire
+	 *
+	 * @param token the token of the request
+	 * @return true if the token is valid
+	 */
+	private boolean isValidToken(String token) {
+		Long issued = token == null ? null : tokens.get(token);
+		if (issued == null) {
+			return false;
+		}
+		if (tokenTimeout > 0 && System.currentTimeMillis() - issued >= tokenTimeout) {
+			tokens.remove(token);
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Answers the sections requested by a retrieve request
+	 *
+	 * @param request the retrieve request
+	 * @return the response
+	 */
+	private ObjectNode retrieve(JsonNode request) {
+		retrieveCount.incrementAndGet();
+		for (String section : failedSections) {
+			if (request.has(section)) {
+				errorCount.incrementAndGet();
+				return failure("Simulated error");
+			}
+		}
+		if (request.has("groups") && groupOutlets.isEmpty()) {
+			return failure("There are no Groups");
+		}
+		ObjectNode response = objectMapper.createObjectNode();
+		response.put(SUCCESS, true);
+		if (request.has("names")) {
+			namesRetrieveCount.incrementAndGet();
+			ObjectNode names = response.putObject("names");
+			ObjectNode outlets = names.putObject("outletNames");
+			outletNames.forEach(outlets::put);
+			ObjectNode groups = names.putObject("groupNames");
+			int index = 1;
+			for (String group : groupOutlets.keySet()) {
+				groups.put(String.valueOf(index++), group);
+			}
+			ObjectNode sequences = names.putObject("sequenceNames");
+			sequenceNames.forEach(sequences::put);
+		}
+		if (request.has("analog")) {
+			ObjectNode analog = response.putObject("analog");
+			for (JsonNode channel : request.get("analog")) {
+				String code = channel.asText();
+				analog.put(analogKey(code), analogValue(code));
+			}
+		}
+		if (request.has("outlets")) {
+			ObjectNode outlets = response.putObject("outlets");
+			for (JsonNode id : request.get("outlets")) {
+				String state = outletStates.get(id.asText());
+				if (state != null) {
+					outlets.put(id.asText(), state);
+				}
+			}
+		}
+		if (request.has("groups")) {
+			ObjectNode groups = response.putObject("groups");
+			for (JsonNode name : request.get("groups")) {
+				List<String> members = groupOutlets.get(name.asText());
+				if (members != null) {
+					groups.put(name.asText(), groupState(members));
+				}
+			}
+		}
+		return response;
+	}
+
+	/**
+	 * Applies an outlet, group or sequence control
+	 *
+	 * @param request the control request
+	 * @return the response
+	 */
+	private ObjectNode control(JsonNode request) {
+		controlCount.incrementAndGet();
+		String command = request.path("command").asText();
+		List<String> targets = new ArrayList<>();
+		switch (request.path("control").asText()) {
+			case "outlet":
+				for (JsonNode id : request.path("outlets")) {
+					if (!outletStates.containsKey(id.asText())) {
+						return failure("Invalid outlet " + id.asText());
+					}
+					targets.add(id.asText());
+				}
+				break;
+			case "group":
+				List<String> members = groupOutlets.get(request.path("group").asText());
+				if (members == null) {
+					return failure("Invalid group " + request.path("group").asText());
+				}
+				targets.addAll(members);
+				break;
+			case "sequence":
+				if (!sequenceNames.containsValue(request.path("sequence").asText())) {
+					return failure("Invalid sequence " + request.path("sequence").asText());
+				}
+				break;
+			default:
+				return failure("Invalid control");
+		}
+		for (String outlet : targets) {
+			if ("off".equals(command)) {
+				outletStates.put(outlet, OFF);
+			} else if ("on".equals(command) || "cycle".equals(command)) {
+				outletStates.put(outlet, ON);
+			}
+		}
+		ObjectNode response = objectMapper.createObjectNode();
+		response.put(SUCCESS, true);
+		return response;
+	}
+
+	/**
+	 * Computes the state of a group from the states of its outlets
+	 *
+	 * @param members the outlets of the group
+	 * @return "On" if all outlets are on, "Off" otherwise, "?" for a group without outlet
+	 */
+	private String groupState(List<String> members) {
+		if (members.isEmpty()) {
+			return "?";
+		}
+		for (String outlet : members) {
+			if (!ON.equals(outletStates.get(outlet))) {
+				return OFF;
+			}
+		}
+		return ON;
+	}
+
+	/**
+	 * Builds the name of an analog reading in the response, e.g. "CurrentLC1", "VoltageLV1" or "T0"
+	 *
+	 * @param code the channel code of the request
+	 * @return the name of the reading
+	 */
+	private static String analogKey(String code) {
+		if (code.startsWith("LC")) {
+			return "Current" + code;
+		}
+		if (code.startsWith("LV")) {
+			return "Voltage" + code;
+		}
+		return code;
+	}
+
+	/**
+	 * Simulates an analog reading: the current follows the number of outlets that are on
+	 *
+	 * @param code the channel code of the request
+	 * @return the reading
+	 */
+	private String analogValue(String code) {
+		double noise = analogNoise ? ThreadLocalRandom.current().nextDouble(-0.005, 0.005) : 0;
+		if (code.startsWith("LC")) {
+			long on = 0;
+			for (Entry<String, String> state : outletStates.entrySet()) {
+				if (ON.equals(state.getValue())) {
+					on++;
+				}
+			}
+			return String.format(Locale.ROOT, "%.3f", 0.05 * on + noise);
+		}
+		if (code.startsWith("LV")) {
+			return String.format(Locale.ROOT, "%.1f", 120 + noise * 20);
+		}
+		return String.format(Locale.ROOT, "%.1f", 23 + noise * 20);
+	}
+
+	/**
+	 * Builds an unsuccessful response
+	 *
+	 * @param message the error message
+	 * @return the response
+	 */
+	private ObjectNode failure(String message) {
+		ObjectNode response = objectMapper.createObjectNode();
+		response.put(SUCCESS, false);
+		response.put(MESSAGE, message);
+		return response;
+	}
+
+	/**
+	 * Sends a JSON response
+	 *
+	 * @param exchange the HTTP exchange
+	 * @param response the response body
+	 * @throws IOException if the response can not be sent
+	 */
+	private void respond(HttpExchange exchange, ObjectNode response) throws IOException {
+		byte[] body = objectMapper.writeValueAsBytes(response);
+		exchange.getResponseHeaders().add("Content-Type", "application/json");
+		exchange.sendResponseHeaders(200, body.length);
+		try (OutputStream stream = exchange.getResponseBody()) {
+			stream.write(body);
+		}
+	}
+
+	/**
+	 * Reads a request body
+	 *
+	 * @param stream the body stream
+	 * @return the body
+	 * @throws IOException if the body can not be read
+	 */
+	private static String readBody(InputStream stream) throws IOException {
+		ByteArrayOutputStream body = new ByteArrayOutputStream();
+		byte[] buffer = new byte[4096];
+		int read;
+		while ((read = stream.read(buffer)) > 0) {
+			body.write(buffer, 0, read);
+		}
+		return new String(body.toByteArray(), StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,315 @@
+/*
+ *  Copyright (c) 2024 AVI-SPL, Inc. All Rights Reserved.
+ */
+
+package com.insightsystems.dal.dataprobe;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jol.info.GraphLayout;
+
+import com.avispl.symphony.api.dal.dto.control.ControllableProperty;
+import com.insightsystems.symphony.dal.dataprobe.DataprobeiBootPDUCommunicator;
+
+/**
+ * Capacity-planning harness running many {@link DataprobeiBootPDUCommunicator} instances in one JVM against {@link IBootPDUSimulator}s.
+ * Each adapter is polled with getMultipleStatistics() and controlled with controlProperty() at a target rate, and the harness reports
+ * the throughput and latency of the calls, the CPU time and allocation rate of the adapter threads, the threads started per adapter
+ * and the heap retained per adapter, measured with jol.
+ * CPU time and allocations of the simulator threads are left out.
+ * <p>
+ * Configured with system properties, e.g. {@code -Dadapters=200 -Doutlets=24 -DpollRate=0.1 -Dduration=60}, see {@link #main(String[])}.
+ *
+ * @author Harry / Symphony Dev Team<br>
+ * Created on 10/18/2026
+ * @since 1.0.0
+ */
+public class ScaleHarness {
+	private static final String DRIVER_THREAD = "Scale harness driver";
+	private static final String[] SIMULATOR_THREADS = { "iBoot PDU simulator", "HTTP-Dispatcher", "idle-timeout-task" };
+
+	private final int adapterCount = Integer.getInteger("adapters", 100);
+	private final int pduCount = Integer.getInteger("pdus", adapterCount);
+	private final int outlets = Integer.getInteger("outlets", 8);
+	private final int groups = Integer.getInteger("groups", 2);
+	private final double pollRate = Double.parseDouble(System.getProperty("pollRate", "0.2"));
+	private final double controlRate = Double.parseDouble(System.getProperty("controlRate", "0.01"));
+	private final long latency = Long.getLong("latency", 20);
+	private final long warmup = Long.getLong("warmup", 10);
+	private final long duration = Long.getLong("duration", 60);
+	private final int driverThreads = Integer.getInteger("driverThreads", 16);
+	private final boolean backgroundPolling = Boolean.getBoolean("backgroundPolling");
+
+	private final List<IBootPDUSimulator> simulators = new ArrayList<>();
+	private final List<DataprobeiBootPDUCommunicator> adapters = new ArrayList<>();
+	private final LatencyRecorder polls = new LatencyRecorder();
+	private final LatencyRecorder controls = new LatencyRecorder();
+
+	/**
+	 * Runs the harness. System properties:
+	 * <ul>
+	 * <li>adapters: number of adapter instances, 100 by default</li>
+	 * <li>pdus: number of simulated PDUs shared by the adapters, one per adapter by default</li>
+	 * <li>outlets, groups: size of each simulated PDU, 8 outlets and 2 groups by default</li>
+	 * <li>pollRate: getMultipleStatistics() calls per second per adapter, 0.2 by default</li>
+	 * <li>controlRate: controlProperty() calls per second per adapter, 0.01 by default</li>
+	 * <li>latency: response latency of the simulated PDUs in milliseconds, 20 by default</li>
+	 * <li>warmup, duration: seconds of warmup and of measurement, 10 and 60 by default</li>
+	 * <li>driverThreads: threads calling the adapters, 16 by default</li>
+	 * <li>backgroundPolling: whether the adapters poll in background</li>
+	 * </ul>
+	 *
+	 * @param args not used
+	 * @throws Exception if the simulators or the adapters can not be started
+	 */
+	public static void main(String[] args) throws Exception {
+		new ScaleHarness().run();
+	}
+
+	/**
+	 * Runs {@link #measure()}, then stops the adapters and the simulators
+	 *
+	 * @throws Exception if the simulators or the adapters can not be started
+	 */
+	private void run() throws Exception {
+		try {
+			measure();
+		} finally {
+			for (DataprobeiBootPDUCommunicator adapter : adapters) {
+				adapter.destroy();
+			}
+			for (IBootPDUSimulator simulator : simulators) {
+				simulator.close();
+			}
+		}
+	}
+
+	/**
+	 * Drives the adapters through the warmup and the measurement, and prints the report
+	 *
+	 * @throws Exception if the simulators or the adapters can not be started
+	 */
+	private void measure() throws Exception {
+		int[] ports = new int[pduCount];
+		for (int i = 0; i < pduCount; i++) {
+			IBootPDUSimulator simulator = new IBootPDUSimulator(outlets, groups, 0);
+			simulator.setLatency(latency, latency / 2);
+			ports[i] = simulator.start();
+			simulators.add(simulator);
+		}
+		int threadsBefore = countAdapterThreads();
+		for (int i = 0; i < adapterCount; i++) {
+			DataprobeiBootPDUCommunicator adapter = new DataprobeiBootPDUCommunicator();
+			adapter.setHost("127.0.0.1");
+			adapter.setPort(ports[i % pduCount]);
+			adapter.setProtocol("http");
+			adapter.setLogin(IBootPDUSimulator.LOGIN);
+			adapter.setPassword(IBootPDUSimulator.PASSWORD);
+			adapter.setBackgroundPolling(backgroundPolling);
+			adapter.init();
+			adapters.add(adapter);
+		}
+
+		ScheduledExecutorService driver = Executors.newScheduledThreadPool(driverThreads, runnable -> {
+			Thread thread = new Thread(runnable, DRIVER_THREAD);
+			thread.setDaemon(true);
+			return thread;
+		});
+		for (DataprobeiBootPDUCommunicator adapter : adapters) {
+			schedule(driver, pollRate, () -> poll(adapter));
+			schedule(driver, controlRate, () -> control(adapter));
+		}
+		TimeUnit.SECONDS.sleep(warmup);
+		int adapterThreads = countAdapterThreads() - threadsBefore;
+
+		polls.reset();
+		controls.reset();
+		long[] usageBefore = adapterThreadUsage();
+		long startTime = System.nanoTime();
+		TimeUnit.SECONDS.sleep(duration);
+		long[] usageAfter = adapterThreadUsage();
+		double elapsed = (System.nanoTime() - startTime) / 1e9;
+		driver.shutdownNow();
+		driver.awaitTermination(10, TimeUnit.SECONDS);
+
+		long retainedHeap = GraphLayout.parseInstance(adapters.toArray()).totalSize();
+		double cpu = (usageAfter[0] - usageBefore[0]) / 1e9;
+		double allocated = usageAfter[1] - usageBefore[1];
+
+		System.out.println(String.format("%d adapters, %d PDUs of %d outlets and %d groups, %d ms latency, %.0f s measured", adapterCount, pduCount,
+				outlets, groups, latency, elapsed));
+		polls.print("getMultipleStatistics", elapsed, pollRate * adapterCount);
+		controls.print("controlProperty", elapsed, controlRate * adapterCount);
+		System.out.println(String.format("CPU: %.1f%% of a core, %.3f ms per adapter per second, %.3f ms per poll", 100 * cpu / elapsed,
+				1000 * cpu / elapsed / adapterCount, polls.count() == 0 ? 0 : 1000 * cpu / polls.count()));
+		System.out.println(String.format("Allocation: %.1f MB/s, %.1f KB/s per adapter, %.1f KB per poll", allocated / elapsed / (1 << 20),
+				allocated / elapsed / adapterCount / 1024, polls.count() == 0 ? 0 : allocated / polls.count() / 1024));
+		System.out.println(String.format("Threads: %.2f per adapter", (double) adapterThreads / adapterCount));
+		System.out.println(String.format("Retained heap: %.1f KB per adapter", (double) retainedHeap / adapterCount / 1024));
+	}
+
+	/**
+	 * Schedules calls to an adapter at a rate, starting at a random offset so that the adapters are spread over the period
+	 *
+	 * @param driver the executor calling the adapters
+	 * @param rate the calls per second, 0 for none
+	 * @param call the call
+	 */
+	private static void schedule(ScheduledExecutorService driver, double rate, Runnable call) {
+		if (rate <= 0) {
+			return;
+		}
+		long period = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+		driver.scheduleAtFixedRate(call, ThreadLocalRandom.current().nextLong(period), period, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Retrieves the statistics of an adapter, recording the latency of the call
+	 *
+	 * @param adapter the adapter
+	 */
+	private void poll(DataprobeiBootPDUCommunicator adapter) {
+		long startTime = System.nanoTime();
+		try {
+			adapter.getMultipleStatistics();
+			polls.record(System.nanoTime() - startTime);
+		} catch (Exception e) {
+			polls.recordError();
+		}
+	}
+
+	/**
+	 * Switches a random outlet of an adapter on or off, recording the latency of the call.
+	 * The control is queued by the adapter, so the latency does not include the request to the device.
+	 *
+	 * @param adapter the adapter
+	 */
+	private void control(DataprobeiBootPDUCommunicator adapter) {
+		ControllableProperty property = new ControllableProperty();
+		property.setProperty("Outlet_" + (1 + ThreadLocalRandom.current().nextInt(outlets)) + "#Control");
+		property.setValue(ThreadLocalRandom.current().nextBoolean() ? "1" : "0");
+		long startTime = System.nanoTime();
+		try {
+			adapter.controlProperty(property);
+			controls.record(System.nanoTime() - startTime);
+		} catch (Exception e) {
+			controls.recordError();
+		}
+	}
+
+	/**
+	 * Sums the CPU time and the allocated bytes of the live threads, except the simulator threads.
+	 * The usage of threads that ended in between is lost.
+	 *
+	 * @return the CPU time in nanoseconds and the allocated bytes
+	 */
+	private static long[] adapterThreadUsage() {
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long[] ids = threads.getAllThreadIds();
+		ThreadInfo[] infos = threads.getThreadInfo(ids);
+		long[] allocated = threads.getThreadAllocatedBytes(ids);
+		long[] usage = new long[2];
+		for (int i = 0; i < ids.length; i++) {
+			if (infos[i] != null && !isSimulatorThread(infos[i].getThreadName())) {
+				usage[0] += Math.max(0, threads.getThreadCpuTime(ids[i]));
+				usage[1] += Math.max(0, allocated[i]);
+			}
+		}
+		return usage;
+	}
+
+	/**
+	 * Counts the live threads, except the simulator and driver threads
+	 *
+	 * @return the number of threads
+	 */
+	private static int countAdapterThreads() {
+		int count = 0;
+		for (ThreadInfo info : ManagementFactory.getThreadMXBean().getThreadInfo(ManagementFactory.getThreadMXBean().getAllThreadIds())) {
+			if (info != null && !isSimulatorThread(info.getThreadName()) && !info.getThreadName().equals(DRIVER_THREAD)) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * @param name the thread name
+	 * @return true for a thread of an {@link IBootPDUSimulator}
+	 */
+	private static boolean isSimulatorThread(String name) {
+		for (String prefix : SIMULATOR_THREADS) {
+			if (name.startsWith(prefix)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Keeps the latencies of the calls in a fixed-size array, the calls beyond its capacity are only counted
+	 */
+	private static class LatencyRecorder {
+		private static final int CAPACITY = 1 << 22;
+
+		private final long[] latencies = new long[CAPACITY];
+		private final AtomicInteger size = new AtomicInteger();
+		private final AtomicLong calls = new AtomicLong();
+		private final AtomicLong errors = new AtomicLong();
+
+		void record(long latency) {
+			calls.incrementAndGet();
+			int index = size.getAndIncrement();
+			if (index < CAPACITY) {
+				latencies[index] = latency;
+			}
+		}
+
+		void recordError() {
+			errors.incrementAndGet();
+		}
+
+		long count() {
+			return calls.get();
+		}
+
+		void reset() {
+			size.set(0);
+			calls.set(0);
+			errors.set(0);
+		}
+
+		/**
+		 * Prints the throughput and the latency percentiles
+		 *
+		 * @param name the name of the call
+		 * @param elapsed the measured seconds
+		 * @param target the target calls per second
+		 */
+		void print(String name, double elapsed, double target) {
+			long[] sorted = Arrays.copyOf(latencies, Math.min(size.get(), CAPACITY));
+			Arrays.sort(sorted);
+			System.out.println(String.format("%s: %d calls, %.1f/s of %.1f/s targeted, %d errors, p50 %.3f ms, p99 %.3f ms, max %.3f ms", name,
+					calls.get(), calls.get() / elapsed, target, errors.get(), percentile(sorted, 0.5), percentile(sorted, 0.99),
+					percentile(sorted, 1)));
+		}
+
+		private static double percentile(long[] sorted, double ratio) {
+			if (sorted.length == 0) {
+				return 0;
+			}
+			int index = (int) Math.ceil(ratio * sorted.length) - 1;
+			return sorted[Math.max(0, index)] / 1e6;
+		}
+	}
+}
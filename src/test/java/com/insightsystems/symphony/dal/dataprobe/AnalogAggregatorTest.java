@@ -0,0 +1,56 @@
+/*
+ *  Copyright (c) 2024 AVI-SPL, Inc. All Rights Reserved.
+ */
+
+package com.insightsystems.symphony.dal.dataprobe;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit test for {@link AnalogAggregator}
+ *
+ * @author Harry / Symphony Dev Team<br>
+ * Created on 10/18/2026
+ * @since 1.0.0
+ */
+@Tag("Mock")
+public class AnalogAggregatorTest {
+	private final double[] result = new double[4];
+
+	@Test
+	void testAggregate() {
+		AnalogAggregator aggregator = new AnalogAggregator(8);
+		aggregator.add(1, 1000, 120.1);
+		aggregator.add(1, 2000, 119.9);
+		aggregator.add(1, 3000, 120.3);
+		Assert.assertFalse(aggregator.aggregate(0, 0, result));
+		Assert.assertFalse(aggregator.aggregate(2, 0, result));
+		Assert.assertTrue(aggregator.aggregate(1, 0, result));
+		Assert.assertEquals(119.9, result[AnalogAggregator.MIN], 1e-9);
+		Assert.assertEquals(120.3, result[AnalogAggregator.MAX], 1e-9);
+		Assert.assertEquals(120.1, result[AnalogAggregator.AVERAGE], 1e-9);
+		Assert.assertEquals(3, result[AnalogAggregator.COUNT], 0);
+
+		Assert.assertTrue(aggregator.aggregate(1, 2000, result));
+		Assert.assertEquals(2, result[AnalogAggregator.COUNT], 0);
+		Assert.assertEquals(120.1, result[AnalogAggregator.AVERAGE], 1e-9);
+		Assert.assertFalse(aggregator.aggregate(1, 3001, result));
+	}
+
+	@Test
+	void testOverwriteAndClear() {
+		AnalogAggregator aggregator = new AnalogAggregator(2);
+		aggregator.add(0, 1000, 1);
+		aggregator.add(0, 2000, 2);
+		aggregator.add(0, 3000, 3);
+		Assert.assertTrue(aggregator.aggregate(0, 0, result));
+		Assert.assertEquals(2, result[AnalogAggregator.COUNT], 0);
+		Assert.assertEquals(2, result[AnalogAggregator.MIN], 0);
+		Assert.assertEquals(3, result[AnalogAggregator.MAX], 0);
+
+		aggregator.clear();
+		Assert.assertFalse(aggregator.aggregate(0, 0, result));
+	}
+}
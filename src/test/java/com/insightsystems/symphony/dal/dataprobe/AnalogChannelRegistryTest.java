@@ -0,0 +1,113 @@
+/*
+ *  Copyright (c) 2024 AVI-SPL, Inc. All Rights Reserved.
+ */
+
+package com.insightsystems.symphony.dal.dataprobe;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit test for {@link AnalogChannelRegistry}
+ *
+ * @author Harry / Symphony Dev Team<br>
+ * Created on 10/18/2026
+ * @since 1.0.0
+ */
+@Tag("Mock")
+public class AnalogChannelRegistryTest {
+	private AnalogChannelRegistry analogChannels;
+	private Map<String, String> deadbands;
+
+	@BeforeEach
+	void setUp() {
+		deadbands = new HashMap<>();
+		analogChannels = new AnalogChannelRegistry(Collections.singleton("VoltageLV1(V)"), deadbands);
+	}
+
+	@Test
+	void testChannels() {
+		analogChannels.update("CurrentLC1", 0.5, 1);
+		analogChannels.update("VoltageLV1", 120, 0);
+		analogChannels.update("T0", 22.5, 1);
+		analogChannels.update("Humidity", 40, 0);
+		Assert.assertEquals(4, analogChannels.size());
+		Assert.assertEquals("CurrentLC1(mA)", analogChannels.getPropertyName(0));
+		Assert.assertEquals(500, analogChannels.getValue(0), 1e-9);
+		Assert.assertTrue(analogChannels.isHistorical(1));
+		Assert.assertFalse(analogChannels.isHistorical(0));
+		Assert.assertEquals("TemperatureT1(C)", analogChannels.getPropertyName(2));
+		Assert.assertEquals("Humidity", analogChannels.getPropertyName(3));
+		Assert.assertNull(analogChannels.getChannel(3));
+
+		analogChannels.clearReadings();
+		analogChannels.update("T0", 23, 0);
+		Assert.assertFalse(analogChannels.isPresent(0));
+		Assert.assertTrue(analogChannels.isPresent(2));
+		Assert.assertEquals(4, analogChannels.size());
+	}
+
+	@Test
+	void testMovedIgnoresNoise() {
+		analogChannels.update("CurrentLC1", 0.004, 3);
+		Assert.assertTrue(analogChannels.moved(0, 5));
+		analogChannels.update("CurrentLC1", -0.004, 3);
+		Assert.assertFalse(analogChannels.moved(0, 5));
+		analogChannels.update("CurrentLC1", 0.4, 3);
+		Assert.assertTrue(analogChannels.moved(0, 5));
+		analogChannels.update("CurrentLC1", 0.415, 3);
+		Assert.assertFalse(analogChannels.moved(0, 5));
+		analogChannels.update("CurrentLC1", 0.45, 3);
+		Assert.assertTrue(analogChannels.moved(0, 5));
+
+		analogChannels.clearBaseline(0);
+		Assert.assertTrue(analogChannels.moved(0, 5));
+	}
+
+	@Test
+	void testFormatKeepsDevicePrecision() {
+		analogChannels.update("VoltageLV1", 120, 0);
+		analogChannels.update("VoltageLV2", 120, 1);
+		analogChannels.update("CurrentLC1", 0.123, 3);
+		analogChannels.update("CurrentLC2", 0.1234, 4);
+		analogChannels.update("T0", 22.5, 1);
+		Assert.assertEquals("120", analogChannels.format(0, analogChannels.getValue(0)));
+		Assert.assertEquals("120.0", analogChannels.format(1, analogChannels.getValue(1)));
+		Assert.assertEquals("123", analogChannels.format(2, analogChannels.getValue(2)));
+		Assert.assertEquals("123.4", analogChannels.format(3, analogChannels.getValue(3)));
+		Assert.assertEquals("22.5", analogChannels.format(4, analogChannels.getValue(4)));
+		Assert.assertEquals("22.3", analogChannels.format(4, 67.0 / 3));
+		Assert.assertEquals("120", analogChannels.format(0, 361.0 / 3));
+		Assert.assertEquals(120, analogChannels.round(0, 361.0 / 3), 0);
+		Assert.assertEquals(22.3, analogChannels.round(4, 67.0 / 3), 0);
+		Assert.assertEquals(123.5, analogChannels.round(3, 123.45), 0);
+	}
+
+	@Test
+	void testDeadband() {
+		deadbands.put("VoltageLV1(V)", "2");
+		deadbands.put("TemperatureT1(C)", "10%");
+		analogChannels.update("VoltageLV1", 120, 0);
+		analogChannels.update("T0", 20, 0);
+		Assert.assertTrue(analogChannels.hasDeadband(0));
+		Assert.assertTrue(analogChannels.exceedsDeadband(0, 120));
+		analogChannels.setReportedValue(0, 120, 1);
+		analogChannels.setReportedValue(1, 20, 1);
+		Assert.assertFalse(analogChannels.exceedsDeadband(0, 121.5));
+		Assert.assertTrue(analogChannels.exceedsDeadband(0, 117.5));
+		Assert.assertFalse(analogChannels.exceedsDeadband(1, 21.9));
+		Assert.assertTrue(analogChannels.exceedsDeadband(1, 22.5));
+
+		deadbands.put("VoltageLV1(V)", "n/a");
+		analogChannels.refreshDeadbands();
+		Assert.assertFalse(analogChannels.hasDeadband(0));
+		analogChannels.clearReported();
+		Assert.assertTrue(Double.isNaN(analogChannels.getReportedValue(1)));
+	}
+}
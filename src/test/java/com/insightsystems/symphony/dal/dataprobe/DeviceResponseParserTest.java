@@ -0,0 +1,137 @@
+/*
+ *  Copyright (c) 2024 AVI-SPL, Inc. All Rights Reserved.
+ */
+
+package com.insightsystems.symphony.dal.dataprobe;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit test for {@link DeviceResponseParser}
+ *
+ * @author Harry / Symphony Dev Team<br>
+ * Created on 10/18/2026
+ * @since 1.0.0
+ */
+@Tag("Mock")
+public class DeviceResponseParserTest {
+	private Map<String, String> outletNames;
+	private Map<String, String> groupNames;
+	private AnalogChannelRegistry analogChannels;
+	private Map<String, String> outletStates;
+	private Map<String, String> groupStates;
+	private DeviceResponseParser parser;
+
+	@BeforeEach
+	void setUp() {
+		outletNames = new HashMap<>();
+		groupNames = new HashMap<>();
+		analogChannels = new AnalogChannelRegistry(Collections.emptySet(), Collections.emptyMap());
+		outletStates = new HashMap<>();
+		groupStates = new HashMap<>();
+		parser = new DeviceResponseParser(outletNames, groupNames, analogChannels, outletStates, groupStates);
+	}
+
+	@Test
+	void testCombinedResponse() throws IOException {
+		DeviceResponse response = decode("{\"success\":true,\"names\":{\"outletNames\":{\"1\":\"1 Outlet 1\",\"2\":\"2 Outlet 2\"},"
+				+ "\"groupNames\":{\"1\":\"group01\"},\"sequenceNames\":{\"1\":\"01\"}},\"analog\":{\"CurrentLC1\":\"0.5\",\"T0\":22.5},"
+				+ "\"outlets\":{\"1\":\"On\",\"2\":\"Off\"},\"groups\":{\"group01\":\"On\"}}");
+		Assert.assertTrue(response.isSuccess());
+		Assert.assertTrue(response.hasNames());
+		Assert.assertTrue(response.hasOutletNames());
+		Assert.assertTrue(response.hasGroupNames());
+		Assert.assertTrue(response.hasAnalog());
+		Assert.assertTrue(response.hasOutlets());
+		Assert.assertTrue(response.hasGroups());
+		Assert.assertEquals("1 Outlet 1", outletNames.get("1"));
+		Assert.assertEquals("group01", groupNames.get("1"));
+		Assert.assertEquals("Off", outletStates.get("2"));
+		Assert.assertEquals("On", groupStates.get("group01"));
+		Assert.assertEquals(2, analogChannels.size());
+		Assert.assertEquals("CurrentLC1(mA)", analogChannels.getPropertyName(0));
+		Assert.assertEquals(500, analogChannels.getValue(0), 1e-9);
+		Assert.assertEquals("TemperatureT1(C)", analogChannels.getPropertyName(1));
+		Assert.assertEquals(22.5, analogChannels.getValue(1), 1e-9);
+	}
+
+	@Test
+	void testSectionsReplacePreviousContent() throws IOException {
+		decode("{\"success\":true,\"outlets\":{\"1\":\"On\",\"2\":\"On\"},\"analog\":{\"T0\":20,\"T1\":21}}");
+		DeviceResponse response = decode("{\"success\":true,\"outlets\":{\"1\":\"Off\"},\"analog\":{\"T1\":\"n/a\"}}");
+		Assert.assertTrue(response.hasOutlets());
+		Assert.assertFalse(response.hasGroups());
+		Assert.assertEquals(Collections.singletonMap("1", "Off"), outletStates);
+		Assert.assertFalse(analogChannels.isPresent(0));
+		Assert.assertFalse(analogChannels.isPresent(1));
+	}
+
+	@Test
+	void testUnknownAndNestedFieldsAreSkipped() throws IOException {
+		DeviceResponse response = decode("{\"firmware\":{\"version\":[1,2]},\"success\":true,"
+				+ "\"outlets\":{\"1\":{\"state\":\"On\"},\"2\":\"Off\"},\"groups\":\"none\"}");
+		Assert.assertTrue(response.isSuccess());
+		Assert.assertEquals(Collections.singletonMap("2", "Off"), outletStates);
+		Assert.assertFalse(response.hasGroups());
+	}
+
+	@Test
+	void testFailureResponse() throws IOException {
+		DeviceResponse response = parser.parse("{\"success\":false,\"message\":\"Invalid Token\"}");
+		Assert.assertFalse(response.isSuccess());
+		Assert.assertTrue(response.isInvalidToken());
+		Assert.assertFalse(response.hasAnalog());
+	}
+
+	@Test
+	void testApplyUnderLock() throws Exception {
+		Object lock = new Object();
+		DeviceResponseParser lockedParser = new DeviceResponseParser(outletNames, groupNames, analogChannels, outletStates, groupStates, lock);
+		DeviceResponse response;
+		CompletableFuture<Void> result;
+		synchronized (lock) {
+			response = lockedParser.parse("{\"success\":true,\"analog\":{\"T0\":20}}");
+			result = CompletableFuture.runAsync(() -> lockedParser.apply(response));
+			Thread.sleep(200);
+			Assert.assertFalse(result.isDone());
+			Assert.assertEquals(0, analogChannels.size());
+		}
+		result.get(5, TimeUnit.SECONDS);
+		Assert.assertTrue(response.hasAnalog());
+		Assert.assertEquals(1, analogChannels.size());
+	}
+
+	@Test
+	void testRejectedResponseLeavesTargets() throws IOException {
+		decode("{\"success\":true,\"outlets\":{\"1\":\"On\",\"2\":\"On\"},\"analog\":{\"T0\":20}}");
+		Assert.assertThrows(IOException.class, () -> parser.parse("{\"success\":true,\"outlets\":{\"1\":\"Off\"},\"analog\":{\"T0\":2"));
+		DeviceResponse response = parser.parse("{\"success\":false,\"outlets\":{},\"analog\":{}}");
+		Assert.assertTrue(response.hasOutlets());
+		Assert.assertEquals(2, outletStates.size());
+		Assert.assertEquals("On", outletStates.get("1"));
+		Assert.assertTrue(analogChannels.isPresent(0));
+		Assert.assertEquals(20, analogChannels.getValue(0), 1e-9);
+	}
+
+	@Test
+	void testMalformedResponse() {
+		Assert.assertThrows(IOException.class, () -> parser.parse("[]"));
+		Assert.assertThrows(IOException.class, () -> parser.parse("{\"success\":tru"));
+	}
+
+	private DeviceResponse decode(String content) throws IOException {
+		DeviceResponse response = parser.parse(content);
+		parser.apply(response);
+		return response;
+	}
+}
@@ -0,0 +1,68 @@
+/*
+ *  Copyright (c) 2024 AVI-SPL, Inc. All Rights Reserved.
+ */
+
+package com.insightsystems.symphony.dal.dataprobe;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Assert;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit test for {@link Serialisers.RequestTemplates}, comparing the cached requests with the equivalent JSON trees
+ *
+ * @author Harry / Symphony Dev Team<br>
+ * Created on 10/18/2026
+ * @since 1.0.0
+ */
+@Tag("Mock")
+public class SerialisersTest {
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private Serialisers.RequestTemplates requestTemplates;
+
+	@BeforeEach
+	void setUp() {
+		requestTemplates = new Serialisers.RequestTemplates();
+		requestTemplates.updateTopology(Arrays.asList("1", "2"), Collections.singletonList("group01"));
+	}
+
+	@Test
+	void testRetrieve() throws Exception {
+		Assert.assertEquals(objectMapper.readTree("{\"token\":\"abc\",\"names\":[\"outlets\",\"groups\",\"sequences\"],"
+						+ "\"analog\":[\"LC1\",\"LC2\",\"LV1\",\"LV2\",\"T0\",\"T1\"],\"outlets\":[\"1\",\"2\"],\"groups\":[\"group01\"]}"),
+				objectMapper.readTree(requestTemplates.retrieve("abc", Serialisers.RequestTemplates.NAMES | Serialisers.RequestTemplates.ANALOG
+						| Serialisers.RequestTemplates.STATES)));
+		Assert.assertEquals(objectMapper.readTree("{\"token\":\"abc\",\"outlets\":[\"1\",\"2\"],\"groups\":[\"group01\"]}"),
+				objectMapper.readTree(requestTemplates.retrieve("abc", Serialisers.RequestTemplates.STATES)));
+		Assert.assertEquals(objectMapper.readTree("{\"token\":\"abc\",\"outlets\":[\"2\"],\"groups\":[\"group01\"]}"),
+				objectMapper.readTree(requestTemplates.retrieveStates("abc", new String[] { "2" })));
+	}
+
+	@Test
+	void testTopologyAndTokenChanges() throws Exception {
+		String request = requestTemplates.retrieve("abc", Serialisers.RequestTemplates.STATES);
+		requestTemplates.updateTopology(Arrays.asList("1", "2"), Collections.singletonList("group01"));
+		Assert.assertEquals(request, requestTemplates.retrieve("abc", Serialisers.RequestTemplates.STATES));
+
+		requestTemplates.updateTopology(Collections.singletonList("3"), Collections.emptyList());
+		JsonNode states = objectMapper.readTree(requestTemplates.retrieve("def", Serialisers.RequestTemplates.STATES));
+		Assert.assertEquals(objectMapper.readTree("{\"token\":\"def\",\"outlets\":[\"3\"]}"), states);
+		Assert.assertTrue(objectMapper.readTree(requestTemplates.retrieve(null, Serialisers.RequestTemplates.ANALOG)).get("token").isNull());
+	}
+
+	@Test
+	void testControl() throws Exception {
+		Serialisers.ControlObject outletControl = new Serialisers.ControlObject("outlet", "on", new String[] { "1", "3" }, null, null);
+		Assert.assertEquals(objectMapper.readTree("{\"token\":\"abc\",\"control\":\"outlet\",\"command\":\"on\",\"outlets\":[\"1\",\"3\"]}"),
+				objectMapper.readTree(requestTemplates.control("abc", outletControl)));
+		Serialisers.ControlObject groupControl = new Serialisers.ControlObject("group", "off", null, null, "a \"quoted\" group\\");
+		Assert.assertEquals("a \"quoted\" group\\", objectMapper.readTree(requestTemplates.control("a\"b", groupControl)).get("group").asText());
+		Assert.assertEquals("a\"b", objectMapper.readTree(requestTemplates.control("a\"b", groupControl)).get("token").asText());
+	}
+}
@@ -0,0 +1,51 @@
+/*
+ *  Copyright (c) 2024 AVI-SPL, Inc. All Rights Reserved.
+ */
+
+package com.insightsystems.symphony.dal.dataprobe.common;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit test for {@link AdaptivePollingInterval}
+ *
+ * @author Harry / Symphony Dev Team<br>
+ * Created on 10/18/2026
+ * @since 1.0.0
+ */
+@Tag("Mock")
+public class AdaptivePollingIntervalTest {
+
+	@Test
+	void testBackoffAndReset() {
+		AdaptivePollingInterval interval = new AdaptivePollingInterval(1000, 5000);
+		Assert.assertEquals(1000, interval.getInterval());
+		Assert.assertEquals(1500, interval.next(false, 10));
+		Assert.assertEquals(2250, interval.next(false, 10));
+		Assert.assertEquals(3375, interval.next(false, 10));
+		Assert.assertEquals(5000, interval.next(false, 10));
+		Assert.assertEquals(5000, interval.next(false, 10));
+		Assert.assertEquals(1000, interval.next(true, 10));
+		Assert.assertEquals(1000, interval.getInterval());
+	}
+
+	@Test
+	void testLatencyFloor() {
+		AdaptivePollingInterval interval = new AdaptivePollingInterval(1000, 5000);
+		Assert.assertEquals(3000, interval.next(true, 300));
+		Assert.assertEquals(300, interval.getAverageLatency());
+		Assert.assertEquals(1000, interval.getInterval());
+		Assert.assertEquals(3400, interval.next(true, 500));
+		Assert.assertEquals(340, interval.getAverageLatency());
+		Assert.assertEquals(5000, interval.next(true, 10000));
+	}
+
+	@Test
+	void testMaximumBelowMinimum() {
+		AdaptivePollingInterval interval = new AdaptivePollingInterval(2000, 1000);
+		Assert.assertEquals(2000, interval.next(false, 10));
+		Assert.assertEquals(2000, interval.next(true, 10));
+	}
+}